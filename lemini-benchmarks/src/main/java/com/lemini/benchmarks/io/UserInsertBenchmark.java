@@ -0,0 +1,105 @@
+package com.lemini.benchmarks.io;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.lemini.users.shared.Utils;
+import com.lemini.users.shared.enums.IdFormat;
+
+// Loads a large batch of users into a table shaped like "users" (unique index on user_id) and compares
+// fully random ids with time-ordered ones. Runs against an H2 file database with a deliberately small page
+// cache, standing in for an InnoDB buffer pool that no longer holds the whole index.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(3)
+public class UserInsertBenchmark {
+
+    private static final int ID_LENGTH = 30;
+    private static final int BATCH_SIZE = 1_000;
+
+    @Param({ "RANDOM", "TIME_ORDERED" })
+    public IdFormat format;
+
+    @Param("200000")
+    public int users;
+
+    private Utils utils;
+    private Path directory;
+    private Connection connection;
+
+    @Setup(Level.Iteration)
+    public void setUp() throws IOException, SQLException {
+        utils = new Utils(format);
+        directory = Files.createTempDirectory("user-insert-benchmark");
+        connection = DriverManager.getConnection(
+                "jdbc:h2:file:" + directory.resolve("users") + ";CACHE_SIZE=4096", "sa", "");
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("create table users ("
+                    + "id bigint generated by default as identity primary key, "
+                    + "user_id varchar(255) not null unique, "
+                    + "first_name varchar(255) not null, "
+                    + "last_name varchar(255) not null, "
+                    + "email varchar(255) not null unique, "
+                    + "encrypted_password varchar(255) not null, "
+                    + "email_verification_status boolean not null)");
+        }
+        connection.setAutoCommit(false);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws IOException, SQLException {
+        connection.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public int insertUsers() throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement("insert into users "
+                + "(user_id, first_name, last_name, email, encrypted_password, email_verification_status) "
+                + "values (?, 'First', 'Last', ?, '{bcrypt}$2a$10$abcdefghijklmnopqrstuuvwxyz0123456789ABCDEFGHIJKLMNO', false)")) {
+
+            for (int i = 0; i < users; i++) {
+                insert.setString(1, utils.generateUserId(ID_LENGTH));
+                insert.setString(2, "user" + i + "@example.com");
+                insert.addBatch();
+
+                if ((i + 1) % BATCH_SIZE == 0) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+            }
+            insert.executeBatch();
+            connection.commit();
+        }
+        return users;
+    }
+}
@@ -0,0 +1,69 @@
+package com.lemini.benchmarks.security;
+
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import com.lemini.users.security.CustomUser;
+import com.lemini.users.security.SigningKeyRing;
+import com.lemini.users.security.TokenIssuer;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+
+// Signing an access token on login and verifying it with the key ring, as the security package does.
+// The verified-token cache that sits in front of parsing is covered by TokenVerificationBenchmark.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenIssuanceBenchmark {
+
+    private TokenIssuer tokenIssuer;
+    private JwtParser jwtParser;
+    private CustomUser user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new MapPropertySource("benchmark", Map.of(
+                "app.security.tokenSecret",
+                Base64.getEncoder().encodeToString(Jwts.SIG.HS512.key().build().getEncoded()))));
+
+        SigningKeyRing signingKeyRing = new SigningKeyRing(environment, event -> { });
+        tokenIssuer = new TokenIssuer(signingKeyRing);
+        jwtParser = Jwts.parser().keyLocator(signingKeyRing).build();
+
+        user = new CustomUser("aB3dE5fG7hJ9kL1mN3pQ5rS7tU9vW1", "jane.doe@example.com", "", true, true, true, true,
+                List.of());
+        token = tokenIssuer.issueAccessToken(user);
+    }
+
+    @Benchmark
+    public String issueAccessToken() {
+        return tokenIssuer.issueAccessToken(user);
+    }
+
+    @Benchmark
+    public Claims parseAccessToken() {
+        return jwtParser.parseSignedClaims(token).getPayload();
+    }
+}
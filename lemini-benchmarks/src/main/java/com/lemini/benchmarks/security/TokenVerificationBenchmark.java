@@ -0,0 +1,66 @@
+package com.lemini.benchmarks.security;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.SecretKey;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.lemini.users.security.SecurityConstants;
+import com.lemini.users.security.VerifiedTokenCache;
+
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+
+// Per-request cost of turning a bearer token into claims in CustomAuthorizationFilter.
+// "parseEveryRequest" is the behaviour before VerifiedTokenCache, "verifiedTokenCache" the steady state after it.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenVerificationBenchmark {
+
+    private JwtParser jwtParser;
+    private VerifiedTokenCache tokenCache;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        SecretKey key = Jwts.SIG.HS512.key().build();
+        Instant now = Instant.now();
+
+        token = Jwts.builder()
+                .subject("user@example.com")
+                .issuedAt(Date.from(now))
+                .expiration(Date.from(now.plusMillis(SecurityConstants.EXPIRATION_TIME)))
+                .claim(SecurityConstants.USER_ID_CLAIM, "aB3dE5fG7hJ9kL1mN3pQ5rS7tU9vW1")
+                .signWith(key, Jwts.SIG.HS512)
+                .compact();
+
+        jwtParser = Jwts.parser().verifyWith(key).build();
+        tokenCache = new VerifiedTokenCache(jwtParser, 10_000);
+    }
+
+    @Benchmark
+    public String parseEveryRequest() {
+        return jwtParser.parseSignedClaims(token).getPayload().get(SecurityConstants.USER_ID_CLAIM, String.class);
+    }
+
+    @Benchmark
+    public String verifiedTokenCache() {
+        return tokenCache.parse(token).get(SecurityConstants.USER_ID_CLAIM, String.class);
+    }
+}
@@ -0,0 +1,82 @@
+package com.lemini.benchmarks.shared;
+
+import java.security.SecureRandom;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.lemini.users.shared.Utils;
+
+// Throughput of 30-character public IDs (createUser draws one per user and one per address).
+// "sharedSecureRandom" is the previous Utils implementation: one SecureRandom.nextInt call per character
+// on a single shared instance. "utils" is the striped bulk-entropy generator.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IdGenerationBenchmark {
+
+    private static final int LENGTH = 30;
+    private static final String ALPHABET = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz";
+
+    private final Random sharedRandom = new SecureRandom();
+    private final Utils utils = new Utils();
+
+    @Benchmark
+    @Threads(1)
+    public String sharedSecureRandom_1() {
+        return sharedSecureRandom();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String sharedSecureRandom_8() {
+        return sharedSecureRandom();
+    }
+
+    @Benchmark
+    @Threads(32)
+    public String sharedSecureRandom_32() {
+        return sharedSecureRandom();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String utils_1() {
+        return utils.generateUserId(LENGTH);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String utils_8() {
+        return utils.generateUserId(LENGTH);
+    }
+
+    @Benchmark
+    @Threads(32)
+    public String utils_32() {
+        return utils.generateUserId(LENGTH);
+    }
+
+    private String sharedSecureRandom() {
+        StringBuilder returnValue = new StringBuilder(LENGTH);
+
+        for (int i = 0; i < LENGTH; i++) {
+            returnValue.append(ALPHABET.charAt(sharedRandom.nextInt(ALPHABET.length())));
+        }
+
+        return new String(returnValue);
+    }
+}
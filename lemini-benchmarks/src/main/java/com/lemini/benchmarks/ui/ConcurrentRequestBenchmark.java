@@ -0,0 +1,87 @@
+package com.lemini.benchmarks.ui;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+// GET /api/v1/users/{userId} from far more concurrent clients than request threads or pooled connections.
+// The principal and second-level caches are off, so every request makes two database round trips (authorization
+// lookup and controller) through a small pool. "virtualThreads=false" is Tomcat's bounded platform-thread pool,
+// "virtualThreads=true" one virtual thread per request (needs Java 21+: -p virtualThreads=false on older runtimes).
+// Throughput gives requests per second, SampleTime the latency percentiles.
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(256)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class ConcurrentRequestBenchmark {
+
+    private static final String USER_ID = "benchmark-user-id";
+
+    @Param({ "false", "true" })
+    public boolean virtualThreads;
+
+    @Param("32")
+    public int tomcatThreads;
+
+    @Param("8")
+    public int poolSize;
+
+    private UserServiceFixture service;
+    private HttpClient client;
+    private HttpRequest request;
+
+    @Setup
+    public void setUp() {
+        if (virtualThreads && Runtime.version().feature() < 21) {
+            throw new IllegalStateException("virtualThreads=true needs Java 21 or later, this is " + Runtime.version());
+        }
+
+        service = new UserServiceFixture(
+                "spring.threads.virtual.enabled=" + virtualThreads,
+                "server.tomcat.threads.max=" + tomcatThreads,
+                "spring.datasource.hikari.maximum-pool-size=" + poolSize,
+                "app.datasource.bulkheads.auth.max-concurrent=" + poolSize,
+                "app.datasource.bulkheads.crud.max-concurrent=" + poolSize,
+                "app.datasource.bulkheads.max-wait=PT30S",
+                "spring.cache.type=none",
+                "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+                "spring.jpa.properties.hibernate.cache.use_query_cache=false");
+        service.seedUser(USER_ID, 0);
+
+        client = service.client();
+        request = service.get("/api/v1/users/" + USER_ID);
+    }
+
+    @TearDown
+    public void tearDown() {
+        service.close();
+    }
+
+    @Benchmark
+    public int getUser() throws IOException, InterruptedException {
+        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET user answered " + response.statusCode());
+        }
+        return response.statusCode();
+    }
+}
@@ -0,0 +1,97 @@
+package com.lemini.benchmarks.ui;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.lemini.users.io.entity.AddressEntity;
+import com.lemini.users.io.entity.UserEntity;
+import com.lemini.users.io.mapper.UserEntityMapper;
+import com.lemini.users.io.mapper.UserEntityMapperImpl;
+import com.lemini.users.shared.dto.UserDto;
+import com.lemini.users.shared.enums.AddressType;
+import com.lemini.users.ui.mapper.UserRestMapper;
+import com.lemini.users.ui.mapper.UserRestMapperImpl;
+import com.lemini.users.ui.model.request.AddressRequestModel;
+import com.lemini.users.ui.model.request.UserRequestModel;
+import com.lemini.users.ui.model.response.UserRest;
+
+// MapStruct conversions on the request path: request -> DTO -> entity on registration,
+// entity -> DTO -> response on every read. A user with two addresses, as in the API examples.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    private final UserEntityMapper entityMapper = new UserEntityMapperImpl();
+    private final UserRestMapper restMapper = new UserRestMapperImpl();
+
+    private UserRequestModel request;
+    private UserEntity entity;
+    private UserDto dto;
+
+    @Setup
+    public void setUp() {
+        request = new UserRequestModel("Jane", "Doe", "jane.doe@example.com", "Password123!", List.of(
+                new AddressRequestModel("Tehran", "Iran", "Some Street 1", "12345", AddressType.HOME),
+                new AddressRequestModel("Shiraz", "Iran", "Other Street 2", "54321", AddressType.BILLING)));
+
+        entity = new UserEntity();
+        entity.setId(1L);
+        entity.setUserId("aB3dE5fG7hJ9kL1mN3pQ5rS7tU9vW1");
+        entity.setFirstName("Jane");
+        entity.setLastName("Doe");
+        entity.setEmail("jane.doe@example.com");
+        entity.setEncryptedPassword("{bcrypt}$2a$10$abcdefghijklmnopqrstuuvwxyz0123456789ABCDEFGHIJKLMNO");
+        entity.setEmailVerificationStatus(true);
+        entity.setAddresses(List.of(address(1L, "HOME", entity), address(2L, "BILLING", entity)));
+
+        dto = entityMapper.userEntityToUserDto(entity);
+    }
+
+    @Benchmark
+    public UserDto requestToDto() {
+        return restMapper.userRequestModelToUserDto(request);
+    }
+
+    @Benchmark
+    public UserEntity dtoToEntity() {
+        return entityMapper.userDtoToUserEntity(dto);
+    }
+
+    @Benchmark
+    public UserDto entityToDto() {
+        return entityMapper.userEntityToUserDto(entity);
+    }
+
+    @Benchmark
+    public UserRest dtoToResponse() {
+        return restMapper.userDtoToUserRest(dto);
+    }
+
+    private static AddressEntity address(long id, String type, UserEntity user) {
+        AddressEntity address = new AddressEntity();
+        address.setId(id);
+        address.setAddressId("address" + id + "E5fG7hJ9kL1mN3pQ5rS7tU9v");
+        address.setStreetName("Some Street " + id);
+        address.setCity("Tehran");
+        address.setCountry("Iran");
+        address.setPostalCode("12345");
+        address.setType(type);
+        address.setUserProfile(user);
+        return address;
+    }
+}
@@ -0,0 +1,148 @@
+package com.lemini.benchmarks.ui;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.catalina.connector.Connector;
+import org.apache.tomcat.util.threads.ThreadPoolExecutor;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.infra.ThreadParams;
+import org.openjdk.jmh.runner.IterationType;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+
+// GET a user with its addresses through UserController ("mvc": JPA on the request thread) and through
+// UserReactiveController ("reactive": R2DBC behind an async dispatch), at the same client concurrency.
+// Both read the database on every request: principal and second-level caches are off, and the authorization
+// filter trusts the token claims instead of looking the principal up. Besides throughput and the latency
+// percentiles (SampleTime), the results carry the most request threads busy at once and the most live JVM
+// threads (ThreadPeaks), sampled every millisecond.
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(64)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class ReadPathBenchmark {
+
+    private static final String USER_ID = "read-path-user-id";
+
+    @Param({ "mvc", "reactive" })
+    public String stack;
+
+    @Param("3")
+    public int addresses;
+
+    private UserServiceFixture service;
+    private HttpClient client;
+    private HttpRequest request;
+
+    private ThreadPoolExecutor requestThreads;
+    private final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+    private ScheduledExecutorService sampler;
+    private final AtomicInteger maxBusyRequestThreads = new AtomicInteger();
+    private final AtomicInteger maxLiveThreads = new AtomicInteger();
+
+    @Setup
+    public void setUp() {
+        service = new UserServiceFixture(
+                "app.security.authorization-mode=CLAIMS",
+                "spring.cache.type=none",
+                "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+                "spring.jpa.properties.hibernate.cache.use_query_cache=false");
+        service.seedUser(USER_ID, addresses);
+
+        client = service.client();
+        request = service.get(("reactive".equals(stack) ? "/api/v1/reactive/users/" : "/api/v1/users/") + USER_ID);
+
+        Connector connector = ((TomcatWebServer) ((WebServerApplicationContext) service.context()).getWebServer())
+                .getTomcat().getConnector();
+        requestThreads = (ThreadPoolExecutor) connector.getProtocolHandler().getExecutor();
+    }
+
+    @Setup(Level.Iteration)
+    public void startSampling() {
+        maxBusyRequestThreads.set(0);
+        maxLiveThreads.set(0);
+        sampler = Executors.newSingleThreadScheduledExecutor();
+        sampler.scheduleAtFixedRate(() -> {
+            maxBusyRequestThreads.accumulateAndGet(requestThreads.getActiveCount(), Math::max);
+            maxLiveThreads.accumulateAndGet(threadBean.getThreadCount(), Math::max);
+        }, 0, 1, TimeUnit.MILLISECONDS);
+    }
+
+    @TearDown(Level.Iteration)
+    public void stopSampling() throws InterruptedException {
+        sampler.shutdownNow();
+        sampler.awaitTermination(1, TimeUnit.SECONDS);
+    }
+
+    @TearDown
+    public void tearDown() {
+        service.close();
+    }
+
+    // Secondary results with the sampled peaks, so they land in the JSON results next to the scores. JMH sums
+    // these counters over the benchmark threads and over the measurement iterations: only the first thread
+    // reports, and each iteration reports what it raised the peak by, so a score is the peak of the whole run.
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class ThreadPeaks {
+
+        public long busyRequestThreads;
+        public long liveThreads;
+
+        private long reportedBusyRequestThreads;
+        private long reportedLiveThreads;
+
+        @Setup(Level.Iteration)
+        public void clear() {
+            busyRequestThreads = 0;
+            liveThreads = 0;
+        }
+
+        @TearDown(Level.Iteration)
+        public void report(ReadPathBenchmark benchmark, ThreadParams thread, IterationParams iteration) {
+            if (thread.getThreadIndex() != 0 || iteration.getType() != IterationType.MEASUREMENT) {
+                return;
+            }
+            busyRequestThreads = Math.max(0, benchmark.maxBusyRequestThreads.get() - reportedBusyRequestThreads);
+            liveThreads = Math.max(0, benchmark.maxLiveThreads.get() - reportedLiveThreads);
+            reportedBusyRequestThreads += busyRequestThreads;
+            reportedLiveThreads += liveThreads;
+        }
+    }
+
+    @Benchmark
+    public int getUser(ThreadPeaks peaks) throws IOException, InterruptedException {
+        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET user answered " + response.statusCode());
+        }
+        return response.statusCode();
+    }
+}
@@ -0,0 +1,85 @@
+package com.lemini.benchmarks.ui;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+import com.lemini.users.shared.enums.AddressType;
+import com.lemini.users.ui.model.response.AddressRest;
+import com.lemini.users.ui.model.response.UserRest;
+
+// UserRest as the controllers send it, for both content types the API negotiates.
+// Mappers come from Jackson2ObjectMapperBuilder, the same defaults Spring MVC applies.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    private ObjectWriter jsonWriter;
+    private ObjectWriter xmlWriter;
+    private ObjectReader jsonReader;
+    private ObjectReader xmlReader;
+
+    private UserRest user;
+    private byte[] json;
+    private byte[] xml;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        XmlMapper xmlMapper = Jackson2ObjectMapperBuilder.xml().build();
+
+        jsonWriter = objectMapper.writerFor(UserRest.class);
+        xmlWriter = xmlMapper.writerFor(UserRest.class);
+        jsonReader = objectMapper.readerFor(UserRest.class);
+        xmlReader = xmlMapper.readerFor(UserRest.class);
+
+        user = new UserRest("aB3dE5fG7hJ9kL1mN3pQ5rS7tU9vW1", "Jane", "Doe", "jane.doe@example.com", List.of(
+                new AddressRest("cD4eF6gH8jK0lM2nP4qR6sT8uV0wX2", "Some Street 1", "Tehran", "Iran", "12345",
+                        AddressType.HOME),
+                new AddressRest("eF6gH8jK0lM2nP4qR6sT8uV0wX2yZ4", "Other Street 2", "Shiraz", "Iran", "54321",
+                        AddressType.BILLING)));
+
+        json = jsonWriter.writeValueAsBytes(user);
+        xml = xmlWriter.writeValueAsBytes(user);
+    }
+
+    @Benchmark
+    public byte[] writeJson() throws IOException {
+        return jsonWriter.writeValueAsBytes(user);
+    }
+
+    @Benchmark
+    public byte[] writeXml() throws IOException {
+        return xmlWriter.writeValueAsBytes(user);
+    }
+
+    @Benchmark
+    public UserRest readJson() throws IOException {
+        return jsonReader.readValue(json);
+    }
+
+    @Benchmark
+    public UserRest readXml() throws IOException {
+        return xmlReader.readValue(xml);
+    }
+}
@@ -0,0 +1,105 @@
+package com.lemini.benchmarks.ui;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.lemini.users.UserApplication;
+import com.lemini.users.io.entity.AddressEntity;
+import com.lemini.users.io.entity.UserEntity;
+import com.lemini.users.io.repository.UserRepository;
+import com.lemini.users.security.SecurityConstants;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+// The user service on a random port with an in-memory database, quiet logs and no discovery or tracing,
+// plus one user and a bearer token for it
+final class UserServiceFixture implements AutoCloseable {
+
+    private static final String[] COMMON_PROPERTIES = {
+            "server.port=0",
+            "spring.jpa.show-sql=false",
+            "app.security.password-hashing.strength=4",
+            "eureka.client.enabled=false",
+            "management.tracing.enabled=false",
+            "logging.level.root=WARN" };
+
+    private final ConfigurableApplicationContext context;
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private String token;
+
+    UserServiceFixture(String... properties) {
+        context = new SpringApplicationBuilder(UserApplication.class)
+                .properties(Stream.concat(Stream.of(COMMON_PROPERTIES), Stream.of(properties)).toArray(String[]::new))
+                .run();
+    }
+
+    void seedUser(String userId, int addresses) {
+        UserEntity user = new UserEntity();
+        user.setUserId(userId);
+        user.setFirstName("Bench");
+        user.setLastName("Mark");
+        user.setEmail(userId + "@example.com");
+        user.setEncryptedPassword("hashed_password_here");
+        user.setEmailVerificationStatus(true);
+
+        List<AddressEntity> userAddresses = new ArrayList<>(addresses);
+        for (int i = 0; i < addresses; i++) {
+            AddressEntity address = new AddressEntity();
+            address.setAddressId(userId + "-" + i);
+            address.setType("HOME");
+            address.setCity("Tehran");
+            address.setCountry("Iran");
+            address.setStreetName("Some Street");
+            address.setPostalCode("12345");
+            address.setUserProfile(user);
+            userAddresses.add(address);
+        }
+        user.setAddresses(userAddresses);
+        context.getBean(UserRepository.class).save(user);
+
+        Instant now = Instant.now();
+        byte[] signingKey = Base64.getDecoder().decode(context.getEnvironment().getProperty("app.security.tokenSecret"));
+        token = Jwts.builder()
+                .subject(user.getEmail())
+                .issuedAt(Date.from(now))
+                .expiration(Date.from(now.plusMillis(SecurityConstants.EXPIRATION_TIME)))
+                .signWith(Keys.hmacShaKeyFor(signingKey), Jwts.SIG.HS512)
+                .claim("userId", userId)
+                .compact();
+    }
+
+    // An authorized GET for the last seeded user
+    HttpRequest get(String path) {
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header(SecurityConstants.HEADER_STRING, SecurityConstants.TOKEN_PREFIX + token)
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+    }
+
+    HttpClient client() {
+        return client;
+    }
+
+    ConfigurableApplicationContext context() {
+        return context;
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
@@ -0,0 +1,70 @@
+package com.lemini.benchmarks.validation;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.lemini.users.validation.EmailValidator;
+import com.lemini.users.validation.PasswordValidator;
+
+// Cost of one @ValidEmail / @ValidPassword check, run on every registration and login.
+// "*Regex" is the previous implementation (String.matches, compiling the Pattern on every call),
+// "*Scanner" the single pass validators.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidatorBenchmark {
+
+    private static final String EMAIL_REGEX = "^[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,6}$";
+    private static final String PASSWORD_REGEX =
+            "^(?=.*[a-z])(?=.*[A-Z])(?=.*\\d)(?=.*[@$!%*?&])[A-Za-z\\d@$!%*?&]{8,}$";
+
+    @Param({ "valid", "invalid" })
+    public String input;
+
+    private final EmailValidator emailValidator = new EmailValidator();
+    private final PasswordValidator passwordValidator = new PasswordValidator();
+
+    private String email;
+    private String password;
+
+    @Setup
+    public void setUp() {
+        boolean valid = "valid".equals(input);
+        email = valid ? "firstname.lastname@example-company.com" : "firstname.lastname@example-company";
+        password = valid ? "CorrectHorse9Battery!" : "correcthorse9battery!";
+    }
+
+    @Benchmark
+    public boolean emailRegex() {
+        return email.matches(EMAIL_REGEX);
+    }
+
+    @Benchmark
+    public boolean emailScanner() {
+        return emailValidator.test(email);
+    }
+
+    @Benchmark
+    public boolean passwordRegex() {
+        return password.matches(PASSWORD_REGEX);
+    }
+
+    @Benchmark
+    public boolean passwordScanner() {
+        return passwordValidator.test(password);
+    }
+}
@@ -1,11 +1,16 @@
 package com.lemini.users;
 
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-import org.springframework.context.annotation.ComponentScan;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.core.Ordered;
 
 
-@SpringBootApplication
-@ComponentScan(basePackages = {"com.lemini.users"})
+// R2DBC is only the reactive read path (ReactiveUserReader); Boot's ConnectionFactory would replace the JDBC DataSource
+@SpringBootApplication(exclude = R2dbcAutoConfiguration.class)
+// Caching wraps @Transactional: a hit opens no transaction, and an asynchronous load (PrincipalCacheConfig)
+// opens its own on the loading thread
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
 public class UserApplication {
 
     public static void main(String[] args) {
@@ -1,5 +1,9 @@
 package com.lemini.users.exceptions;
 
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationServiceException;
 import org.springframework.security.core.AuthenticationException;
@@ -19,6 +23,13 @@ import org.springframework.http.HttpStatus;
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    // Hint sent with 503 responses, e.g. when the password hashing queue is full
+    private final Duration retryAfter;
+
+    public GlobalExceptionHandler(@Value("${app.security.password-hashing.retry-after:PT1S}") Duration retryAfter) {
+        this.retryAfter = retryAfter;
+    }
+
     // Handle custom user service exceptions
     @ExceptionHandler(UserServiceException.class)
     public ResponseEntity<ApiErrorResponse> handleUserServiceException(
@@ -34,6 +45,12 @@ public class GlobalExceptionHandler {
                 .path(request.getDescription(false).replace("uri=", ""))
                 .build();
 
+        if (status == HttpStatus.SERVICE_UNAVAILABLE) {
+            return ResponseEntity.status(status)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, retryAfter.toSeconds())))
+                    .body(error);
+        }
+
         return ResponseEntity.status(status).body(error);
     }
 
@@ -111,6 +128,8 @@ public class GlobalExceptionHandler {
                 return HttpStatus.UNAUTHORIZED;
             case BAD_REQUEST:
                 return HttpStatus.BAD_REQUEST;
+            case SERVICE_UNAVAILABLE:
+                return HttpStatus.SERVICE_UNAVAILABLE;
             default:
                 return HttpStatus.INTERNAL_SERVER_ERROR;
         }
@@ -12,7 +12,8 @@ public class UserServiceException extends RuntimeException {
         EMAIL_ALREADY_EXISTS("{user.err.email_exists}"),
         VALIDATION_ERROR("{user.err.validation}"), 
         INVALID_TOKEN("{user.err.invalid_token}"),
-        BAD_REQUEST("{user.err.bad_request}");
+        BAD_REQUEST("{user.err.bad_request}"),
+        SERVICE_UNAVAILABLE("{user.err.service_unavailable}");
 
         private final String defaultMessage;
 
@@ -0,0 +1,59 @@
+package com.lemini.users.io.datasource;
+
+import java.lang.reflect.Method;
+
+import javax.sql.DataSource;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+
+// Puts the bulkheads in front of the DataSource JPA uses ("dataSource": Boot's pool, or the read/write
+// routing proxy of DataSourceRoutingConfig) and applies @Workload to bean methods
+@Configuration(proxyBeanMethods = false)
+public class BulkheadConfig {
+
+    static final String DATA_SOURCE_BEAN = "dataSource";
+
+    @Bean
+    static BeanPostProcessor bulkheadDataSourcePostProcessor(ObjectProvider<WorkloadBulkheads> bulkheads) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return DATA_SOURCE_BEAN.equals(beanName) && bean instanceof DataSource dataSource
+                        ? new BulkheadDataSource(dataSource, bulkheads.getObject())
+                        : bean;
+            }
+        };
+    }
+
+    // Outermost advice, so the workload class is set before @Transactional takes a connection
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static Advisor workloadAdvisor() {
+        MethodInterceptor interceptor = invocation -> {
+            Method method = AopUtils.getMostSpecificMethod(invocation.getMethod(), AopUtils.getTargetClass(invocation.getThis()));
+            Workload workload = AnnotatedElementUtils.findMergedAnnotation(method, Workload.class);
+            WorkloadClass previous = WorkloadContext.enter(workload.value());
+            try {
+                return invocation.proceed();
+            } finally {
+                WorkloadContext.restore(previous);
+            }
+        };
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(
+                AnnotationMatchingPointcut.forMethodAnnotation(Workload.class), interceptor);
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+}
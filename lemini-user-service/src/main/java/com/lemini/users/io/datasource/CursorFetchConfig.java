@@ -0,0 +1,39 @@
+package com.lemini.users.io.datasource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+// Connector/J ignores the fetch size and buffers the whole result set on the client unless useCursorFetch is on;
+// with it, statements that set a fetch size (the export stream, UserRepository.EXPORT_FETCH_SIZE) read through a
+// server-side cursor, and statements that do not are unaffected. Applied to every MySQL pool (primary and replica)
+// before it starts; other drivers, H2 included, would reject the unknown property.
+@Configuration(proxyBeanMethods = false)
+public class CursorFetchConfig {
+
+    static final String MYSQL_URL_PREFIX = "jdbc:mysql:";
+    static final String CURSOR_FETCH_PROPERTY = "useCursorFetch";
+
+    @Bean
+    static BeanPostProcessor mysqlCursorFetchPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource dataSource) {
+                    enableCursorFetch(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    static void enableCursorFetch(HikariDataSource dataSource) {
+        String url = dataSource.getJdbcUrl();
+        if (url != null && url.startsWith(MYSQL_URL_PREFIX)
+                && !dataSource.getDataSourceProperties().containsKey(CURSOR_FETCH_PROPERTY)) {
+            dataSource.addDataSourceProperty(CURSOR_FETCH_PROPERTY, "true");
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.lemini.users.io.datasource;
+
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+// Read/write split, active once app.datasource.replica.url is set; otherwise Boot's single datasource is used.
+// JPA gets a LazyConnectionDataSourceProxy: it takes a real connection on the first statement, after the
+// transaction manager has marked a @Transactional(readOnly = true) connection read-only, and serves those from
+// the read-only side. That side is the replica unless the current user is within their read-your-writes window.
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty("app.datasource.replica.url")
+public class DataSourceRoutingConfig {
+
+    static final String REPLICA_PREFIX = "app.datasource.replica";
+
+    private enum Route { PRIMARY, REPLICA }
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    // Same keys as spring.datasource (url, username, password, hikari.*) under app.datasource.replica
+    @Bean
+    @ConfigurationProperties(REPLICA_PREFIX + ".hikari")
+    HikariDataSource replicaDataSource(Environment environment) {
+        DataSourceProperties properties = Binder.get(environment)
+                .bind(REPLICA_PREFIX, DataSourceProperties.class)
+                .get();
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    DataSource dataSource(@Qualifier("primaryDataSource") HikariDataSource primaryDataSource,
+            @Qualifier("replicaDataSource") HikariDataSource replicaDataSource, ReadYourWritesWindow readYourWrites) {
+
+        AbstractRoutingDataSource readOnly = new AbstractRoutingDataSource() {
+            @Override
+            protected Object determineCurrentLookupKey() {
+                return readYourWrites.isCurrentUserRecent() ? Route.PRIMARY : Route.REPLICA;
+            }
+        };
+        readOnly.setTargetDataSources(Map.of(Route.PRIMARY, primaryDataSource, Route.REPLICA, replicaDataSource));
+        readOnly.afterPropertiesSet();
+
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(readOnly);
+        return dataSource;
+    }
+}
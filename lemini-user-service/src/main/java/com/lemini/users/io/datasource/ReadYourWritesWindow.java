@@ -0,0 +1,72 @@
+package com.lemini.users.io.datasource;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+import org.springframework.util.StringUtils;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.lemini.users.shared.dto.UserDto;
+
+// Who wrote to the primary within the last window, so their own reads skip a replica that may not have caught up.
+// Keys are the userId of the authenticated user behind a committed read-write transaction (recorded here as a
+// TransactionExecutionListener) and the email of a fresh registration, which has no authenticated user yet.
+// Without a replica (app.datasource.replica.url unset) nothing is recorded.
+@Component
+public class ReadYourWritesWindow implements TransactionExecutionListener {
+
+    private final Cache<String, Boolean> recentWriters;
+    private final boolean enabled;
+
+    public ReadYourWritesWindow(
+            @Value("${app.datasource.read-your-writes.window:PT5S}") Duration window,
+            @Value("${app.datasource.read-your-writes.maximum-size:100000}") long maximumSize,
+            @Value("${app.datasource.replica.url:}") String replicaUrl) {
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .maximumSize(maximumSize)
+                .build();
+        this.enabled = StringUtils.hasText(replicaUrl);
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        if (commitFailure == null && !transaction.isReadOnly()) {
+            String userId = currentUserId();
+            if (userId != null) {
+                markWritten(userId);
+            }
+        }
+    }
+
+    public void markWritten(String key) {
+        if (enabled) {
+            recentWriters.put(key, Boolean.TRUE);
+        }
+    }
+
+    public boolean isRecent(String key) {
+        return enabled && key != null && recentWriters.getIfPresent(key) != null;
+    }
+
+    // Read-only work of the current request goes to the primary while this is true
+    public boolean isCurrentUserRecent() {
+        return isRecent(currentUserId());
+    }
+
+    // Both authorization modes put a UserDto in the security context
+    private static String currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getPrincipal() instanceof UserDto user ? user.userId() : null;
+    }
+}
@@ -0,0 +1,17 @@
+package com.lemini.users.io.datasource;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Runs the annotated bean method as the given workload class (see WorkloadContext); connections it takes count
+// against that class's bulkhead. Applied outside @Transactional, so the transaction's connection is counted too
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Workload {
+
+    WorkloadClass value();
+}
@@ -0,0 +1,126 @@
+package com.lemini.users.io.datasource;
+
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+
+// One concurrency limit per workload class on the connections JPA holds (see BulkheadDataSource). Limits are
+// upper bounds, not reservations: keep crud + bulk below the pool size and the rest stays free for logins and
+// authorization lookups, however many slow listings are running.
+// Permits are re-entrant per thread: a thread that already holds one of its class opens further connections
+// without waiting (REQUIRES_NEW, table-emulated sequences on MySQL). Waiting on its own partition, it would
+// deadlock once the partition is full. The limit therefore counts threads, nested connections come on top.
+@Component
+public class WorkloadBulkheads implements MeterBinder {
+
+    private final Map<WorkloadClass, Partition> partitions = new EnumMap<>(WorkloadClass.class);
+    private final long maxWaitNanos;
+    // Meters exist from the first connection on, which can come before the application's registry binds them
+    private final CompositeMeterRegistry meters = new CompositeMeterRegistry();
+
+    public WorkloadBulkheads(
+            @Value("${app.datasource.bulkheads.auth.max-concurrent:10}") int auth,
+            @Value("${app.datasource.bulkheads.crud.max-concurrent:6}") int crud,
+            @Value("${app.datasource.bulkheads.bulk.max-concurrent:2}") int bulk,
+            @Value("${app.datasource.bulkheads.max-wait:PT5S}") Duration maxWait) {
+        partitions.put(WorkloadClass.AUTH, new Partition(WorkloadClass.AUTH, auth, meters));
+        partitions.put(WorkloadClass.CRUD, new Partition(WorkloadClass.CRUD, crud, meters));
+        partitions.put(WorkloadClass.BULK, new Partition(WorkloadClass.BULK, bulk, meters));
+        this.maxWaitNanos = maxWait.toNanos();
+    }
+
+    // Waits up to max-wait for a permit of the current workload class, unless this thread holds one already;
+    // the caller releases it, from any thread
+    Permit acquire() throws SQLTransientConnectionException {
+        WorkloadClass workload = WorkloadContext.current();
+        Partition partition = partitions.get(workload);
+
+        AtomicInteger holds = partition.holds.get();
+        if (holds.getAndIncrement() > 0) {
+            return () -> partition.release(holds);
+        }
+
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = partition.permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        partition.wait.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        if (!acquired) {
+            holds.decrementAndGet();
+            partition.rejected.increment();
+            throw new SQLTransientConnectionException(
+                    workload + " bulkhead: no connection available within " + Duration.ofNanos(maxWaitNanos));
+        }
+        return () -> partition.release(holds);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        meters.add(registry);
+    }
+
+    @FunctionalInterface
+    interface Permit {
+        void release();
+    }
+
+    private static final class Partition {
+
+        private final int limit;
+        private final Semaphore permits;
+        // Open connections of the thread in this class; its permit goes back when the last one closes. The counter
+        // travels with the Permit, so a connection closed on another thread still counts down the right one
+        private final ThreadLocal<AtomicInteger> holds = ThreadLocal.withInitial(AtomicInteger::new);
+        private final Timer wait;
+        private final Counter rejected;
+
+        Partition(WorkloadClass workload, int limit, MeterRegistry registry) {
+            this.limit = limit;
+            this.permits = new Semaphore(limit, true);
+
+            String tag = workload.name().toLowerCase(Locale.ROOT);
+            wait = Timer.builder("db.bulkhead.wait")
+                    .description("Time spent waiting for a connection permit of this workload class")
+                    .tag("workload", tag)
+                    .publishPercentileHistogram()
+                    .register(registry);
+            rejected = Counter.builder("db.bulkhead.rejected")
+                    .description("Connection requests that gave up after max-wait")
+                    .tag("workload", tag)
+                    .register(registry);
+            Gauge.builder("db.bulkhead.active", this, partition -> partition.limit - partition.permits.availablePermits())
+                    .description("Threads holding connections of this workload class")
+                    .tag("workload", tag)
+                    .register(registry);
+            Gauge.builder("db.bulkhead.limit", this, partition -> partition.limit)
+                    .tag("workload", tag)
+                    .register(registry);
+        }
+
+        private void release(AtomicInteger holds) {
+            if (holds.decrementAndGet() == 0) {
+                permits.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.lemini.users.io.datasource;
+
+// Bulkhead partitions: each class takes database connections from its own concurrency limit (WorkloadBulkheads)
+public enum WorkloadClass {
+    AUTH, // login and the authorization filter's principal lookup
+    CRUD, // single-user reads and writes, the default
+    BULK  // listing, scrolling, export, import and bulk delete
+}
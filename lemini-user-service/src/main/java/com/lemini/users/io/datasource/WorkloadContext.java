@@ -0,0 +1,50 @@
+package com.lemini.users.io.datasource;
+
+import java.util.function.Supplier;
+
+// The workload class of the current thread; CRUD unless a @Workload method or callAs says otherwise
+public final class WorkloadContext {
+
+    private static final ThreadLocal<WorkloadClass> CURRENT = new ThreadLocal<>();
+
+    private WorkloadContext() {
+    }
+
+    public static WorkloadClass current() {
+        WorkloadClass workload = CURRENT.get();
+        return workload == null ? WorkloadClass.CRUD : workload;
+    }
+
+    // For callers that are not Spring beans, such as the security filters
+    public static <T> T callAs(WorkloadClass workload, Supplier<T> action) {
+        WorkloadClass previous = enter(workload);
+        try {
+            return action.get();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    public static void runAs(WorkloadClass workload, Runnable action) {
+        WorkloadClass previous = enter(workload);
+        try {
+            action.run();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    static WorkloadClass enter(WorkloadClass workload) {
+        WorkloadClass previous = CURRENT.get();
+        CURRENT.set(workload);
+        return previous;
+    }
+
+    static void restore(WorkloadClass previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package com.lemini.users.io.entity;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -9,6 +12,7 @@ import lombok.Setter;
 
 @Entity
 @Table(name = "users_addresses")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = AddressEntity.CACHE_REGION)
 @Getter
 @Setter
 @AllArgsConstructor
@@ -16,8 +20,11 @@ import lombok.Setter;
 public class AddressEntity implements java.io.Serializable {
     private static final long serialVersionUID = 1L;
 
+    public static final String CACHE_REGION = "addresses";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_addresses_seq")
+    @SequenceGenerator(name = "users_addresses_seq", sequenceName = "users_addresses_seq", allocationSize = 50)
     private Long id;
 
     @Column(length = 30, nullable = false, unique = true)
@@ -4,6 +4,12 @@ import java.io.Serializable;
 import java.util.Collection;
 import java.util.List;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -11,7 +17,16 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", uniqueConstraints = @UniqueConstraint(name = UserEntity.EMAIL_CONSTRAINT, columnNames = "email"))
+// Second-level cache regions, configured in application.conf; lookups by userId go through the natural-id
+// cache (UserRepository.findByNaturalId), so a warm one reads no rows
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = UserEntity.CACHE_REGION)
+@NaturalIdCache(region = UserEntity.NATURAL_ID_CACHE_REGION)
+// Updates write only the changed columns: an entity loaded from the cache may be up to expire-after-write stale,
+// and a full-row UPDATE would put its old email or password back over a newer one (UserServiceImpl.patchUser).
+// Unversioned, this also makes Hibernate evict the row's cache entry on update instead of rewriting it, and
+// skip caching it on insert; the next read caches it again
+@DynamicUpdate
 @Getter
 @Setter
 @AllArgsConstructor
@@ -19,10 +34,22 @@ import lombok.Setter;
 public class UserEntity implements Serializable {
     private static final long serialVersionUID = 1L;
 
+    // Registration relies on this constraint instead of a lookup, see UserServiceImpl.createUser
+    public static final String EMAIL_CONSTRAINT = "uk_users_email";
+
+    public static final String CACHE_REGION = "users";
+    public static final String NATURAL_ID_CACHE_REGION = "user-ids";
+    public static final String ADDRESSES_CACHE_REGION = "user-addresses";
+    public static final String EMAIL_QUERY_CACHE_REGION = "user-emails";
+    public static final String AUTHORITIES_QUERY_CACHE_REGION = "user-authorities";
+
+    // Sequence ids (allocated 50 at a time) rather than IDENTITY, which forces an insert per row and rules out JDBC batching
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
 
+    @NaturalId
     @Column(nullable = false, unique = true)
     private String userId;
 
@@ -32,22 +59,21 @@ public class UserEntity implements Serializable {
     @Column(nullable = false)
     private String lastName;
 
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     private String email;
 
     @Column(nullable = false)
     private String encryptedPassword;
 
-    @Column(nullable = true)
-    private String emailVerificationToken;
-
     @Column(nullable = false)
     private Boolean emailVerificationStatus = false;
 
-    @OneToMany(mappedBy = "userProfile", cascade = CascadeType.ALL, fetch = FetchType.EAGER)
+    // Lazy, each query states what it needs (see UserRepository); eager collections cost a select per user on list pages
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = ADDRESSES_CACHE_REGION)
+    @OneToMany(mappedBy = "userProfile", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<AddressEntity> addresses;
 
-    @ManyToMany(cascade = CascadeType.PERSIST, fetch = FetchType.EAGER)
+    @ManyToMany(cascade = CascadeType.PERSIST, fetch = FetchType.LAZY)
     @JoinTable(name = "users_roles",
         joinColumns = {@JoinColumn(name = "user_id", referencedColumnName = "id")},
         inverseJoinColumns = {@JoinColumn(name = "role_id", referencedColumnName = "id")})
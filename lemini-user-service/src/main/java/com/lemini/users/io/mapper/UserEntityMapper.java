@@ -1,8 +1,11 @@
 package com.lemini.users.io.mapper;
 
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 
+import com.lemini.users.io.entity.AddressEntity;
 import com.lemini.users.io.entity.UserEntity;
+import com.lemini.users.shared.dto.AddressDto;
 import com.lemini.users.shared.dto.UserDto;
 
 @Mapper(componentModel = "spring", unmappedTargetPolicy = org.mapstruct.ReportingPolicy.IGNORE)
@@ -11,7 +14,17 @@ public interface UserEntityMapper {
     //Entity to DTO
     UserDto userEntityToUserDto(UserEntity userEntity);
 
-    //DTO to Entity
+    //Entity to DTO without touching the lazy addresses, for entities loaded without them
+    @Mapping(target = "addresses", ignore = true)
+    UserDto userEntityToUserProfileDto(UserEntity userEntity);
+
+    //DTO to Entity, for new rows only: the primitive 0 id of a fresh DTO would otherwise reach the entity,
+    //making save() merge (a select per user and address) instead of persist
+    @Mapping(target = "id", ignore = true)
     UserEntity userDtoToUserEntity(UserDto userDto);
 
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "userProfile", ignore = true)
+    AddressEntity addressDtoToAddressEntity(AddressDto addressDto);
+
 }
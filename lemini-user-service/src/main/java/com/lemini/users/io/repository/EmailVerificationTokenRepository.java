@@ -0,0 +1,22 @@
+package com.lemini.users.io.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.lemini.users.io.entity.EmailVerificationTokenEntity;
+import com.lemini.users.io.entity.UserEntity;
+
+@Repository
+public interface EmailVerificationTokenRepository extends CrudRepository<EmailVerificationTokenEntity, Long> {
+
+    Optional<EmailVerificationTokenEntity> findByToken(String token);
+
+    @Modifying
+    @Query("delete from EmailVerificationTokenEntity t where t.user = :user")
+    int deleteByUser(@Param("user") UserEntity user);
+}
@@ -0,0 +1,94 @@
+package com.lemini.users.io.repository;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CacheMeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+
+// Second-level cache regions as cache.gets/cache.puts meters tagged cache=<region>, like the Spring caches,
+// plus a cache.hit.ratio gauge per region. Counts come from Hibernate statistics (hibernate.generate_statistics)
+@Component
+@RequiredArgsConstructor
+public class HibernateCacheMetrics implements MeterBinder {
+
+    static final Tags TAGS = Tags.of("cache.manager", "hibernate");
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            if (statistics.getCacheRegionStatistics(region) != null) {
+                new RegionMetrics(statistics, region).bindTo(registry);
+            }
+        }
+    }
+
+    private static final class RegionMetrics extends CacheMeterBinder<Statistics> {
+
+        // Held here as well, CacheMeterBinder keeps only a weak reference
+        private final Statistics statistics;
+        private final String region;
+
+        RegionMetrics(Statistics statistics, String region) {
+            super(statistics, region, TAGS);
+            this.statistics = statistics;
+            this.region = region;
+        }
+
+        // Looked up on every read: Statistics.clear() replaces the per-region objects
+        private CacheRegionStatistics regionStatistics() {
+            return statistics.getCacheRegionStatistics(region);
+        }
+
+        @Override
+        protected Long size() {
+            long size = regionStatistics().getElementCountInMemory();
+            return size < 0 ? null : size; // JCache regions do not report it
+        }
+
+        @Override
+        protected long hitCount() {
+            return regionStatistics().getHitCount();
+        }
+
+        @Override
+        protected Long missCount() {
+            return regionStatistics().getMissCount();
+        }
+
+        @Override
+        protected Long evictionCount() {
+            return null;
+        }
+
+        @Override
+        protected long putCount() {
+            return regionStatistics().getPutCount();
+        }
+
+        @Override
+        protected void bindImplementationSpecificMetrics(MeterRegistry registry) {
+            Gauge.builder("cache.hit.ratio", this, RegionMetrics::hitRatio)
+                    .tags(getTagsWithCacheName())
+                    .description("Share of lookups in this region answered without the database")
+                    .register(registry);
+        }
+
+        private double hitRatio() {
+            CacheRegionStatistics regionStatistics = regionStatistics();
+            long lookups = regionStatistics.getHitCount() + regionStatistics.getMissCount();
+            return lookups == 0 ? Double.NaN : (double) regionStatistics.getHitCount() / lookups;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.lemini.users.io.repository;
+
+import static io.r2dbc.spi.ConnectionFactoryOptions.PASSWORD;
+import static io.r2dbc.spi.ConnectionFactoryOptions.USER;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+
+import com.lemini.users.shared.dto.AddressDto;
+import com.lemini.users.shared.dto.UserDto;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import io.r2dbc.spi.Readable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Reads users with their addresses over R2DBC for the reactive read path, one statement per call.
+// The pool is kept here rather than exposed as a ConnectionFactory bean: Boot backs off from the JDBC DataSource
+// JPA runs on as soon as one exists.
+@Repository
+public class ReactiveUserReader implements DisposableBean {
+
+    // One row per address (or one without an address), ordered so the rows of a user are adjacent
+    private static final String SELECT_USERS_WITH_ADDRESSES = "select u.id, u.user_id, u.first_name, u.last_name, u.email, "
+            + "u.email_verification_status, a.id as address_pk, a.address_id, a.street_name, a.city, a.country, "
+            + "a.postal_code, a.type from ";
+    private static final String ADDRESS_JOIN = " left join users_addresses a on a.users_id = u.id ";
+
+    private final ConnectionPool pool;
+    private final DatabaseClient databaseClient;
+
+    public ReactiveUserReader(@Value("${app.r2dbc.url}") String url,
+            @Value("${app.r2dbc.username:}") String username,
+            @Value("${app.r2dbc.password:}") String password,
+            @Value("${app.r2dbc.pool.max-size:10}") int maxSize,
+            @Value("${app.r2dbc.pool.max-acquire-time:PT5S}") Duration maxAcquireTime) {
+
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+                .option(USER, username)
+                .option(PASSWORD, password)
+                .build();
+        this.pool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .initialSize(1)
+                .maxSize(maxSize)
+                .maxAcquireTime(maxAcquireTime)
+                .build());
+        this.databaseClient = DatabaseClient.create(pool);
+    }
+
+    public Mono<UserDto> findByUserId(String userId) {
+        return toUsers(databaseClient.sql(SELECT_USERS_WITH_ADDRESSES + "users u" + ADDRESS_JOIN
+                        + "where u.user_id = :userId order by a.id")
+                .bind("userId", userId))
+                .next();
+    }
+
+    // Same order and paging as UserService.getUsers: the page of ids in a derived table, so the limit counts users
+    // rather than address rows
+    public Flux<UserDto> findPage(long offset, int limit) {
+        return toUsers(databaseClient.sql(SELECT_USERS_WITH_ADDRESSES
+                        + "(select id from users order by id limit :limit offset :offset) p join users u on u.id = p.id"
+                        + ADDRESS_JOIN + "order by u.id, a.id")
+                .bind("limit", limit)
+                .bind("offset", offset));
+    }
+
+    @Override
+    public void destroy() {
+        pool.dispose();
+    }
+
+    private static Flux<UserDto> toUsers(DatabaseClient.GenericExecuteSpec query) {
+        return query.map(ReactiveUserReader::toUserAddressRow)
+                .all()
+                .bufferUntilChanged(row -> row.user().id())
+                .map(ReactiveUserReader::toUser);
+    }
+
+    private static UserDto toUser(List<UserAddressRow> rows) {
+        UserDto user = rows.get(0).user();
+        List<AddressDto> addresses = new ArrayList<>(rows.size());
+        for (UserAddressRow row : rows) {
+            if (row.address() != null) {
+                addresses.add(row.address());
+            }
+        }
+        return new UserDto(user.id(), user.userId(), user.firstName(), user.lastName(), user.email(),
+                null, null, user.emailVerificationStatus(), addresses);
+    }
+
+    private static UserAddressRow toUserAddressRow(Readable row) {
+        UserDto user = new UserDto(row.get("id", Long.class), row.get("user_id", String.class),
+                row.get("first_name", String.class), row.get("last_name", String.class), row.get("email", String.class),
+                null, null, row.get("email_verification_status", Boolean.class), null);
+
+        Long addressPk = row.get("address_pk", Long.class);
+        AddressDto address = addressPk == null ? null : new AddressDto(addressPk, row.get("address_id", String.class),
+                row.get("street_name", String.class), row.get("city", String.class), row.get("country", String.class),
+                row.get("postal_code", String.class), row.get("type", String.class));
+
+        return new UserAddressRow(user, address);
+    }
+
+    private record UserAddressRow(UserDto user, AddressDto address) {
+    }
+}
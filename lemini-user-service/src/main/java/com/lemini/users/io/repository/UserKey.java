@@ -0,0 +1,9 @@
+package com.lemini.users.io.repository;
+
+// What deleting a user needs to know about it, read without loading the entity
+public record UserKey(
+    Long id,
+    String userId,
+    String email
+) {
+}
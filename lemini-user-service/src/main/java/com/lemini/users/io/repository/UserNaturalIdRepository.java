@@ -0,0 +1,14 @@
+package com.lemini.users.io.repository;
+
+import java.util.Optional;
+
+import com.lemini.users.io.entity.UserEntity;
+
+// Lookups Spring Data cannot derive: they go through Hibernate's natural-id API, which consults the
+// natural-id and entity cache regions before the database
+public interface UserNaturalIdRepository {
+
+    // userId -> id from the natural-id region, the row from the users region; addresses load lazily
+    // from their collection region
+    Optional<UserEntity> findByNaturalId(String userId);
+}
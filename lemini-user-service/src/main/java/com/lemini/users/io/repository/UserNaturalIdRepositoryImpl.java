@@ -0,0 +1,26 @@
+package com.lemini.users.io.repository;
+
+import java.util.Optional;
+
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.lemini.users.io.entity.UserEntity;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+class UserNaturalIdRepositoryImpl implements UserNaturalIdRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Read-only like the derived finders; the session must stay open for the lookup
+    @Transactional(readOnly = true)
+    @Override
+    public Optional<UserEntity> findByNaturalId(String userId) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(UserEntity.class)
+                .loadOptional(userId);
+    }
+}
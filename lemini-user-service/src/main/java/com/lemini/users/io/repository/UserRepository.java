@@ -2,17 +2,92 @@ package com.lemini.users.io.repository;
 
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.lemini.users.io.entity.UserEntity;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
-public interface UserRepository extends CrudRepository<UserEntity, Long> , PagingAndSortingRepository<UserEntity, Long> {
+public interface UserRepository extends CrudRepository<UserEntity, Long> , PagingAndSortingRepository<UserEntity, Long>,
+        UserNaturalIdRepository {
 
+    int EXPORT_FETCH_SIZE = 500;
+
+    // Login lookup, answered from the query cache. Any write to the users table invalidates the cached results.
+    // Read-only, so served by a replica when there is one (derived queries get no transaction of their own)
+    @Transactional(readOnly = true)
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = UserEntity.EMAIL_QUERY_CACHE_REGION) })
     Optional<UserEntity> findByEmail(String email);
+
+    // Authorities granted through the user's roles, signed into the token at login. Cached like findByEmail,
+    // so a repeated login runs no statement; any change to roles or authorities invalidates it
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = UserEntity.AUTHORITIES_QUERY_CACHE_REGION) })
+    @Query("select distinct a.name from UserEntity u join u.roles r join r.authorities a where u.id = :id")
+    List<String> findAuthorityNamesById(@Param("id") Long id);
+
+    // Addresses are part of every UserDto built from this lookup
+    @EntityGraph(attributePaths = "addresses")
     Optional<UserEntity> findByUserId(String userId);
 
+    // Bulk import: which of these emails are taken, in one query instead of a lookup per row
+    @Query("select u.email from UserEntity u where u.email in :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    // Listing is two queries: a page of ids, then those users with their addresses in one join.
+    // Fetch-joining a collection straight into a paged query would make Hibernate page in memory.
+    @Query("select u.id from UserEntity u")
+    Slice<Long> findIds(Pageable pageable);
+
+    // Seeks past the last id of the previous slice instead of skipping rows, so every slice costs the same
+    @Query("select u.id from UserEntity u where u.id > :afterId order by u.id")
+    Slice<Long> findIdsAfter(@Param("afterId") long afterId, Pageable pageable);
+
+    @Query("select u from UserEntity u left join fetch u.addresses where u.id in :ids order by u.id")
+    List<UserEntity> findAllWithAddressesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Export: rows are read through a server-side cursor in fetch-size batches rather than materialized
+    // (on MySQL this needs useCursorFetch=true, which CursorFetchConfig sets on every MySQL pool).
+    // Ordered by id so each user's address rows arrive together and the fetch join assembles one user at a time.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE))
+    @Query("select u from UserEntity u left join fetch u.addresses order by u.id")
+    Stream<UserEntity> streamAllWithAddresses();
+
+    // Set-based deletes: addresses by foreign key, then the users. Hibernate clears their users_roles rows
+    // and the database cascades to email_verification_tokens; nothing is loaded into the persistence context.
+    // Like any bulk statement they empty the users and addresses cache regions, which is why updates go through entities
+    List<UserKey> findKeysByUserIdIn(Collection<String> userIds);
+
+    @Modifying
+    @Query("delete from AddressEntity a where a.userProfile.id in :ids")
+    int deleteAddressesByUserIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("delete from UserEntity u where u.id in :ids")
+    int deleteUsersByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("update UserEntity u set u.encryptedPassword = :encryptedPassword where u.email = :email")
+    int updateEncryptedPasswordByEmail(@Param("email") String email, @Param("encryptedPassword") String encryptedPassword);
+
 }
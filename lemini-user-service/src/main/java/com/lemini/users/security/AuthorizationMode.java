@@ -0,0 +1,6 @@
+package com.lemini.users.security;
+
+public enum AuthorizationMode {
+    LOOKUP, // Resolve the principal through UserService (cached)
+    CLAIMS  // Build the principal from JWT claims only, no database access
+}
@@ -0,0 +1,46 @@
+package com.lemini.users.security;
+
+import java.time.Duration;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+// Picks the bcrypt work factor whose hash time is closest to (but not above) a target on the current hardware.
+// Each +1 doubles the work, so one measurement at the minimum strength is enough to extrapolate.
+public final class BCryptStrengthCalibrator {
+
+    private static final int SAMPLES = 3;
+    private static final String SAMPLE_PASSWORD = "calibration-Password-1";
+
+    private BCryptStrengthCalibrator() {
+    }
+
+    public static int calibrate(Duration target, int minStrength, int maxStrength) {
+        return strengthFor(target, measure(minStrength), minStrength, maxStrength);
+    }
+
+    static int strengthFor(Duration target, Duration atMinStrength, int minStrength, int maxStrength) {
+        long measured = Math.max(1, atMinStrength.toNanos());
+        long budget = target.toNanos();
+
+        int strength = minStrength;
+        while (strength < maxStrength && measured * 2 <= budget) {
+            measured *= 2;
+            strength++;
+        }
+        return strength;
+    }
+
+    // Fastest of a few runs after a warm-up, so JIT compilation and a busy neighbour don't inflate the estimate
+    private static Duration measure(int strength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+        encoder.encode(SAMPLE_PASSWORD);
+
+        long fastest = Long.MAX_VALUE;
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.encode(SAMPLE_PASSWORD);
+            fastest = Math.min(fastest, System.nanoTime() - start);
+        }
+        return Duration.ofNanos(fastest);
+    }
+}
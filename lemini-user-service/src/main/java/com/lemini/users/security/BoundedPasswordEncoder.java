@@ -0,0 +1,143 @@
+package com.lemini.users.security;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.lemini.users.exceptions.UserServiceException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+// Runs the (deliberately slow) password hashing on its own fixed-size pool instead of the Tomcat request threads,
+// so a login or registration burst cannot take every worker and starve the cheap endpoints.
+// The queue is bounded: once it is full the call fails fast with SERVICE_UNAVAILABLE (503 + Retry-After)
+// instead of piling up request threads behind it.
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+    public static final String METRIC_PREFIX = "password.hashing";
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+
+    private final Timer waitTimer;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejected;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, MeterRegistry registry) {
+        this.delegate = delegate;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("password-hashing-"),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.waitTimer = Timer.builder(METRIC_PREFIX + ".wait")
+                .description("Time a hashing task spent queued before a worker picked it up")
+                .register(registry);
+        this.encodeTimer = hashTimer(registry, "encode");
+        this.matchesTimer = hashTimer(registry, "matches");
+        this.rejected = Counter.builder(METRIC_PREFIX + ".rejected")
+                .description("Hashing tasks rejected because the queue was full")
+                .register(registry);
+        Gauge.builder(METRIC_PREFIX + ".queue", executor, pool -> pool.getQueue().size())
+                .description("Hashing tasks waiting for a worker")
+                .register(registry);
+        Gauge.builder(METRIC_PREFIX + ".active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Workers currently hashing")
+                .register(registry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return submit(encodeTimer, () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(matchesTimer, () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    // Bulk hashing for imports, results in input order. At most one task per worker of the batch is queued
+    // at a time, so a large import takes turns with interactive logins instead of filling the shared queue
+    public List<String> encodeAll(List<? extends CharSequence> rawPasswords) {
+        int window = executor.getMaximumPoolSize();
+        Deque<Future<String>> inFlight = new ArrayDeque<>(window);
+        List<String> encoded = new ArrayList<>(rawPasswords.size());
+
+        for (CharSequence rawPassword : rawPasswords) {
+            if (inFlight.size() == window) {
+                encoded.add(await(inFlight.poll()));
+            }
+            inFlight.add(enqueue(encodeTimer, () -> delegate.encode(rawPassword)));
+        }
+        while (!inFlight.isEmpty()) {
+            encoded.add(await(inFlight.poll()));
+        }
+        return encoded;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword); // only inspects the hash prefix, no hashing
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    private <T> T submit(Timer durationTimer, Callable<T> task) {
+        return await(enqueue(durationTimer, task));
+    }
+
+    private <T> Future<T> enqueue(Timer durationTimer, Callable<T> task) {
+        long queuedAt = System.nanoTime();
+
+        try {
+            return executor.submit(() -> {
+                waitTimer.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+                return durationTimer.recordCallable(task);
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new UserServiceException(UserServiceException.UserErrorType.SERVICE_UNAVAILABLE);
+        }
+    }
+
+    private <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new UserServiceException(UserServiceException.UserErrorType.SERVICE_UNAVAILABLE);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static Timer hashTimer(MeterRegistry registry, String operation) {
+        return Timer.builder(METRIC_PREFIX + ".duration")
+                .description("Time spent hashing or verifying a password on a worker")
+                .tag("operation", operation)
+                .register(registry);
+    }
+}
@@ -1,10 +1,7 @@
 package com.lemini.users.security;
 
 import java.io.IOException;
-import java.time.Instant;
 import java.util.ArrayList;
-import java.util.Base64;
-import java.util.Date;
 import java.util.Locale;
 import java.util.Set;
 
@@ -20,13 +17,13 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 import org.springframework.web.servlet.HandlerExceptionResolver;
 
 import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+import com.lemini.users.exceptions.UserServiceException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.lemini.users.ui.model.request.UserLoginRequestModel;
 import com.lemini.users.ui.model.response.AuthenticationResponseModel;
 
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -41,18 +38,32 @@ public class CustomAuthenticationFilter extends UsernamePasswordAuthenticationFi
     private final AuthenticationManager authenticationManager;
     private final Validator validator;
     private final HandlerExceptionResolver resolver;
+    private final TokenIssuer tokenIssuer;
 
-    
+    // Readers/writers are immutable and thread-safe; building them once keeps mapper construction
+    // and serializer lookup off the login path
+    private final ObjectReader jsonLoginReader;
+    private final ObjectReader xmlLoginReader;
+    private final ObjectWriter jsonResponseWriter;
+    private final ObjectWriter xmlResponseWriter;
 
     public CustomAuthenticationFilter(
         AuthenticationManager authenticationManager,
         Validator validator,
-        @Qualifier("handlerExceptionResolver") HandlerExceptionResolver resolver
+        @Qualifier("handlerExceptionResolver") HandlerExceptionResolver resolver,
+        TokenIssuer tokenIssuer,
+        ObjectMapper objectMapper,
+        XmlMapper xmlMapper
     ) {
         super(authenticationManager);
         this.authenticationManager = authenticationManager;
         this.validator = validator;
         this.resolver = resolver;
+        this.tokenIssuer = tokenIssuer;
+        this.jsonLoginReader = objectMapper.readerFor(UserLoginRequestModel.class);
+        this.xmlLoginReader = xmlMapper.readerFor(UserLoginRequestModel.class);
+        this.jsonResponseWriter = objectMapper.writerFor(AuthenticationResponseModel.class);
+        this.xmlResponseWriter = xmlMapper.writerFor(AuthenticationResponseModel.class);
     }
 
     @Override
@@ -64,9 +75,9 @@ public class CustomAuthenticationFilter extends UsernamePasswordAuthenticationFi
             UserLoginRequestModel loginRequest;
 
             if (contentType != null && contentType.contains(MediaType.APPLICATION_XML_VALUE)) {
-                loginRequest = new XmlMapper().readValue(request.getInputStream(), UserLoginRequestModel.class);
+                loginRequest = xmlLoginReader.readValue(request.getInputStream());
             } else {
-                loginRequest = new ObjectMapper().registerModule(new JavaTimeModule()).readValue(request.getInputStream(), UserLoginRequestModel.class);
+                loginRequest = jsonLoginReader.readValue(request.getInputStream());
             }
 
             // Validation
@@ -83,6 +94,10 @@ public class CustomAuthenticationFilter extends UsernamePasswordAuthenticationFi
 
         } catch (AuthenticationException e) {
             throw e;
+        } catch (UserServiceException e) {
+            // e.g. the password hashing queue is full: answer with the mapped status (503) instead of a 400
+            resolver.resolveException(request, response, null, e);
+            return null;
         } catch (Exception e) {
             throw new AuthenticationServiceException(e.getMessage(), e);
         }
@@ -101,17 +116,7 @@ public class CustomAuthenticationFilter extends UsernamePasswordAuthenticationFi
 
                 CustomUser user = (CustomUser) authResult.getPrincipal();
 
-                Instant now = Instant.now();
-
-                byte[] signingKey = Base64.getDecoder().decode(SecurityConstants.getTokenSecret());
-
-                String accessToken = Jwts.builder()
-                    .subject(user.getUsername())
-                    .issuedAt(Date.from(now))
-                    .expiration(Date.from(now.plusMillis(SecurityConstants.EXPIRATION_TIME)))
-                    .signWith(Keys.hmacShaKeyFor(signingKey), Jwts.SIG.HS512)
-                    .claim("userId", user.getUserId())
-                    .compact();
+                String accessToken = tokenIssuer.issueAccessToken(user);
 
                 response.setHeader(SecurityConstants.HEADER_STRING, SecurityConstants.TOKEN_PREFIX + accessToken);
                 response.setStatus(HttpServletResponse.SC_OK);
@@ -123,10 +128,10 @@ public class CustomAuthenticationFilter extends UsernamePasswordAuthenticationFi
 
                 if (acceptHeader != null && acceptHeader.contains(MediaType.APPLICATION_XML_VALUE)) {
                     response.setContentType(MediaType.APPLICATION_XML_VALUE);
-                    new XmlMapper().registerModule(new JavaTimeModule()).writeValue(response.getOutputStream(), authResponse);
+                    xmlResponseWriter.writeValue(response.getOutputStream(), authResponse);
                 } else {
                     response.setContentType(MediaType.APPLICATION_JSON_VALUE);
-                    new ObjectMapper().registerModule(new JavaTimeModule()).writeValue(response.getOutputStream(), authResponse);
+                    jsonResponseWriter.writeValue(response.getOutputStream(), authResponse);
                 }
 
     }
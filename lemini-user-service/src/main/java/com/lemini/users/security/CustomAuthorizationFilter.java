@@ -3,16 +3,18 @@ package com.lemini.users.security;
 import java.io.IOException;
 
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 import org.springframework.web.servlet.HandlerExceptionResolver;
 
 import com.lemini.users.exceptions.UserServiceException;
+import com.lemini.users.io.datasource.WorkloadClass;
+import com.lemini.users.io.datasource.WorkloadContext;
 import com.lemini.users.service.UserService;
 import com.lemini.users.shared.dto.UserDto;
 
-import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Claims;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -24,12 +26,13 @@ import lombok.RequiredArgsConstructor;
 
 import java.util.List;
 
-@Component
 @RequiredArgsConstructor(onConstructor_ = {@Autowired})
 public class CustomAuthorizationFilter extends OncePerRequestFilter {
 
     private final UserService userService;
-    private final JwtParser jwtParser;
+    private final VerifiedTokenCache tokenCache;
+    private final RevokedUserDenylist denylist;
+    private final AuthorizationMode mode;
 
     @Qualifier("handlerExceptionResolver")
     private final HandlerExceptionResolver resolver;
@@ -62,18 +65,22 @@ public class CustomAuthorizationFilter extends OncePerRequestFilter {
                 .replace(SecurityConstants.TOKEN_PREFIX, "");
 
         try {
-            String userId = jwtParser
-                    .parseSignedClaims(token)
-                    .getPayload()
-                    .get("userId", String.class);
+            Claims claims = tokenCache.parse(token);
+
+            String userId = claims.get(SecurityConstants.USER_ID_CLAIM, String.class);
 
             if (userId == null)
                 return null;
 
-            UserDto userDto = userService.getUserByUserId(userId);
+            if (mode == AuthorizationMode.CLAIMS) {
+                return fromClaims(userId, claims);
+            }
+
+            // Counted against the AUTH bulkhead, not the class of the request it authorizes
+            UserDto userDto = WorkloadContext.callAs(WorkloadClass.AUTH, () -> userService.getUserByUserId(userId));
 
-            // Return token with user details and empty authorities list
-            return new UsernamePasswordAuthenticationToken(userDto, null, List.of());
+            // The user must still exist; its authorities are the ones signed into the token at login
+            return new UsernamePasswordAuthenticationToken(userDto, null, authorities(claims));
 
         } catch (UserServiceException e) {
             throw e; // 404 - for user not found
@@ -84,4 +91,25 @@ public class CustomAuthorizationFilter extends OncePerRequestFilter {
 
     }
 
+    // Stateless path: identity and authorities come from the verified token, UserService is never called
+    private UsernamePasswordAuthenticationToken fromClaims(String userId, Claims claims) {
+
+        if (denylist.isRevoked(userId)) {
+            throw new UserServiceException(UserServiceException.UserErrorType.INVALID_TOKEN);
+        }
+
+        UserDto principal = new UserDto(0L, userId, null, null, claims.getSubject(),
+                null, null, null, List.of());
+
+        return new UsernamePasswordAuthenticationToken(principal, null, authorities(claims));
+    }
+
+    private static List<SimpleGrantedAuthority> authorities(Claims claims) {
+        List<?> authorities = claims.get(SecurityConstants.AUTHORITIES_CLAIM, List.class);
+        return authorities == null ? List.of()
+                : authorities.stream()
+                        .map(authority -> new SimpleGrantedAuthority(String.valueOf(authority)))
+                        .toList();
+    }
+
 }
@@ -21,4 +21,9 @@ public class CustomUser extends User {
         return userId;
     }
 
+    public CustomUser withPassword(String password) {
+        return new CustomUser(userId, getUsername(), password, isEnabled(), isAccountNonExpired(),
+                isCredentialsNonExpired(), isAccountNonLocked(), getAuthorities());
+    }
+
 }
@@ -1,16 +1,51 @@
 package com.lemini.users.security;
 
+import java.time.Duration;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 
 @Configuration
 public class PasswordEncoderConfig  {
+
+    public static final String BCRYPT_ID = "bcrypt";
     
     @Bean
-    BCryptPasswordEncoder bCryptPasswordEncoder() {
-        return new BCryptPasswordEncoder(10);
+    BoundedPasswordEncoder passwordEncoder(MeterRegistry meterRegistry,
+            @Value("${app.security.password-hashing.threads:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}") int threads,
+            @Value("${app.security.password-hashing.queue-capacity:64}") int queueCapacity,
+            @Value("${app.security.password-hashing.strength:#{null}}") Integer strength,
+            @Value("${app.security.password-hashing.target-duration:PT0.25S}") Duration targetDuration,
+            @Value("${app.security.password-hashing.min-strength:10}") int minStrength,
+            @Value("${app.security.password-hashing.max-strength:14}") int maxStrength) {
+
+        // A pinned strength skips calibration, otherwise the cost follows the hardware we run on
+        int bcryptStrength = strength != null
+                ? strength
+                : BCryptStrengthCalibrator.calibrate(targetDuration, minStrength, maxStrength);
+        Gauge.builder(BoundedPasswordEncoder.METRIC_PREFIX + ".strength", () -> bcryptStrength)
+                .description("bcrypt work factor used for new hashes")
+                .register(meterRegistry);
+
+        return new BoundedPasswordEncoder(delegatingEncoder(bcryptStrength), threads, queueCapacity, meterRegistry);
     }
 
+    // New hashes are stored as "{bcrypt}$2a$<strength>$...". Legacy hashes without the prefix still verify,
+    // and both they and hashes of a lower strength report upgradeEncoding() so they are rehashed on the next login
+    static PasswordEncoder delegatingEncoder(int bcryptStrength) {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(bcryptStrength);
+
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(BCRYPT_ID, Map.of(BCRYPT_ID, bcrypt));
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return encoder;
+    }
 
 }
@@ -0,0 +1,48 @@
+package com.lemini.users.security;
+
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.lemini.users.io.datasource.WorkloadClass;
+import com.lemini.users.io.datasource.WorkloadContext;
+
+// With virtual threads the Caffeine caches load asynchronously. A synchronous get(key, loader) (@Cacheable(sync = true)
+// on the principal) runs the loader inside a ConcurrentHashMap bin lock, and a virtual thread that waits for a bulkhead
+// permit, a pooled connection or the database while holding a monitor stays pinned to its carrier thread.
+// In async mode the bin lock only installs a future; the load runs on its own thread and concurrent misses still share it.
+// Only when virtual threads are actually in use (the flag on Java 21+): the executor starts a thread per miss, and on
+// older runtimes those would be platform threads, as many as a miss storm asks for.
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class PrincipalCacheConfig {
+
+    @Bean
+    CacheManagerCustomizer<CaffeineCacheManager> asyncCaffeineLoading(CacheProperties cacheProperties) {
+        SimpleAsyncTaskExecutor loaders = new SimpleAsyncTaskExecutor("cache-loader-");
+        loaders.setVirtualThreads(true);
+        loaders.setTaskDecorator(PrincipalCacheConfig::propagateContext);
+
+        String spec = cacheProperties.getCaffeine().getSpec();
+        return cacheManager -> {
+            cacheManager.setCaffeine((spec != null ? Caffeine.from(spec) : Caffeine.newBuilder()).executor(loaders));
+            cacheManager.setAsyncCacheMode(true);
+        };
+    }
+
+    // Runs on the calling thread: the load keeps the caller's workload class (bulkhead) and security context
+    // (read-your-writes routing)
+    private static Runnable propagateContext(Runnable load) {
+        WorkloadClass workload = WorkloadContext.current();
+        Runnable inWorkload = () -> WorkloadContext.runAs(workload, load);
+        return DelegatingSecurityContextRunnable.create(inWorkload, SecurityContextHolder.getContext());
+    }
+}
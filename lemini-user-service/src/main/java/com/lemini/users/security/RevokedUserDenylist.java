@@ -0,0 +1,34 @@
+package com.lemini.users.security;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+// In-memory denylist of deleted/revoked userIds, consulted in CLAIMS mode where no lookup would notice them.
+// Entries are local to this instance and do not survive a restart.
+@Component
+public class RevokedUserDenylist {
+
+    private final Cache<String, Boolean> revoked;
+
+    public RevokedUserDenylist(
+            @Value("${app.security.denylist.ttl:PT240H}") Duration ttl,
+            @Value("${app.security.denylist.maximum-size:100000}") long maximumSize) {
+        this.revoked = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maximumSize)
+                .build();
+    }
+
+    public void revoke(String userId) {
+        revoked.put(userId, Boolean.TRUE);
+    }
+
+    public boolean isRevoked(String userId) {
+        return revoked.getIfPresent(userId) != null;
+    }
+}
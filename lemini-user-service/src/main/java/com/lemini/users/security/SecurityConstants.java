@@ -1,24 +1,13 @@
 package com.lemini.users.security;
 
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.context.annotation.Configuration;
-
-@Configuration
 public class SecurityConstants {
 
     public static final long EXPIRATION_TIME = 864_000_000; //10 days
     public static final String HEADER_STRING = "Authorization";
     public static final String TOKEN_PREFIX = "Bearer ";
     public static final String SIGN_IN_URL = "/users/login";
-
-    private static String TOKEN_SECRET;
-
-    @Value("${app.security.tokenSecret}")
-    public void setTokenSecret(String tokenSecret) {
-        TOKEN_SECRET = tokenSecret;
-    }    
-
-    public static String getTokenSecret() {
-        return TOKEN_SECRET;
-    }
+    public static final String USER_ID_CLAIM = "userId";
+    public static final String AUTHORITIES_CLAIM = "authorities";
+    public static final String DELETE_AUTHORITY = "DELETE_AUTHORITY"; // granted through a role, required for bulk delete
+    public static final String PRINCIPAL_CACHE = "principals"; // userId -> UserDto resolved by the authorization filter
 }
@@ -0,0 +1,108 @@
+package com.lemini.users.security;
+
+import java.security.Key;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import javax.crypto.SecretKey;
+
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.security.Keys;
+
+// HMAC keys used to sign and verify tokens, decoded once instead of on every login.
+// Several keys can be active at the same time: tokens carry the signing key id in their "kid" header,
+// new tokens are signed with app.security.signing.active-key-id, and older keys keep verifying until removed.
+// Keys are re-read on EnvironmentChangeEvent (e.g. POST /actuator/refresh), so rotation needs no restart.
+@Component
+public class SigningKeyRing extends LocatorAdapter<Key> {
+
+    public static final String DEFAULT_KEY_ID = "default"; // app.security.tokenSecret, also used for tokens without "kid"
+
+    private static final String PROPERTY_PREFIX = "app.security.";
+
+    private final Environment environment;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private volatile Snapshot snapshot;
+
+    public SigningKeyRing(Environment environment, ApplicationEventPublisher eventPublisher) {
+        this.environment = environment;
+        this.eventPublisher = eventPublisher;
+        this.snapshot = load();
+    }
+
+    // Key id and key are read from the same snapshot so a concurrent reload cannot mix them
+    public SigningKey activeKey() {
+        Snapshot current = snapshot;
+        return new SigningKey(current.activeKeyId(), current.keys().get(current.activeKeyId()));
+    }
+
+    @Override
+    protected Key locate(JwsHeader header) {
+        String keyId = header.getKeyId() == null ? DEFAULT_KEY_ID : header.getKeyId();
+        // A null key makes the parser reject the token as unverifiable
+        return snapshot.keys().get(keyId);
+    }
+
+    @EventListener
+    public void onEnvironmentChange(EnvironmentChangeEvent event) {
+        if (event.getKeys().stream().anyMatch(key -> key.startsWith(PROPERTY_PREFIX))) {
+            reload();
+        }
+    }
+
+    public void reload() {
+        Snapshot previous = snapshot;
+        snapshot = load();
+
+        Set<String> retired = previous.keys().keySet().stream()
+                .filter(keyId -> !snapshot.keys().containsKey(keyId))
+                .collect(Collectors.toSet());
+        if (!retired.isEmpty()) {
+            eventPublisher.publishEvent(new SigningKeysRetiredEvent(this, retired));
+        }
+    }
+
+    private Snapshot load() {
+        Map<String, SecretKey> keys = new HashMap<>();
+
+        Binder.get(environment)
+                .bind(PROPERTY_PREFIX + "signing.keys", Bindable.mapOf(String.class, String.class))
+                .orElse(Map.of())
+                .forEach((keyId, secret) -> keys.put(keyId, decode(secret)));
+
+        String tokenSecret = environment.getProperty(PROPERTY_PREFIX + "tokenSecret");
+        if (tokenSecret != null) {
+            keys.putIfAbsent(DEFAULT_KEY_ID, decode(tokenSecret));
+        }
+
+        String activeKeyId = environment.getProperty(PROPERTY_PREFIX + "signing.active-key-id", DEFAULT_KEY_ID);
+        if (!keys.containsKey(activeKeyId)) {
+            throw new IllegalStateException("No signing key configured for active key id '" + activeKeyId + "'");
+        }
+
+        return new Snapshot(activeKeyId, Map.copyOf(keys));
+    }
+
+    private static SecretKey decode(String base64Secret) {
+        return Keys.hmacShaKeyFor(Base64.getDecoder().decode(base64Secret));
+    }
+
+    public record SigningKey(String id, SecretKey key) {
+    }
+
+    private record Snapshot(String activeKeyId, Map<String, SecretKey> keys) {
+    }
+}
@@ -0,0 +1,21 @@
+package com.lemini.users.security;
+
+import java.util.Set;
+
+import org.springframework.context.ApplicationEvent;
+
+// Published by SigningKeyRing when a reload removes keys; tokens signed with them must stop verifying
+public class SigningKeysRetiredEvent extends ApplicationEvent {
+    private static final long serialVersionUID = 1L;
+
+    private final Set<String> keyIds;
+
+    public SigningKeysRetiredEvent(Object source, Set<String> keyIds) {
+        super(source);
+        this.keyIds = Set.copyOf(keyIds);
+    }
+
+    public Set<String> getKeyIds() {
+        return keyIds;
+    }
+}
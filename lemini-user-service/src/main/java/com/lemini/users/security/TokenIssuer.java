@@ -0,0 +1,42 @@
+package com.lemini.users.security;
+
+import java.time.Instant;
+import java.util.Date;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.Jwts;
+import lombok.RequiredArgsConstructor;
+
+// Single place where tokens are created. Every token is signed with the ring's active key and
+// carries its id in the "kid" header so verification keeps working across key rotations.
+@Component
+@RequiredArgsConstructor
+public class TokenIssuer {
+
+    private final SigningKeyRing signingKeyRing;
+
+    public String issueAccessToken(CustomUser user) {
+        Instant now = Instant.now();
+
+        return sign(Jwts.builder()
+                .subject(user.getUsername())
+                .issuedAt(Date.from(now))
+                .expiration(Date.from(now.plusMillis(SecurityConstants.EXPIRATION_TIME)))
+                .claim(SecurityConstants.USER_ID_CLAIM, user.getUserId())
+                .claim(SecurityConstants.AUTHORITIES_CLAIM, user.getAuthorities().stream()
+                        .map(GrantedAuthority::getAuthority)
+                        .toList()));
+    }
+
+    private String sign(JwtBuilder builder) {
+        SigningKeyRing.SigningKey signingKey = signingKeyRing.activeKey();
+
+        return builder
+                .header().keyId(signingKey.id()).and()
+                .signWith(signingKey.key(), Jwts.SIG.HS512)
+                .compact();
+    }
+}
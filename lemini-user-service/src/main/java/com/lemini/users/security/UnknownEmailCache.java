@@ -0,0 +1,56 @@
+package com.lemini.users.security;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.lemini.users.shared.Utils;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+// Negative lookup cache of emails with no account, so repeated login attempts for them skip the database. Only
+// repeats: the first attempt at each unknown email still costs one lookup, so credential stuffing over distinct
+// addresses is not kept off the database. A filter of existing emails would be, but would lock out users
+// registered on another instance until it is rebuilt.
+// Kept exact by createUser/deleteUserByUserId on this instance; a registration on another instance is seen here
+// after at most the ttl, the same staleness the principal cache accepts. Keys are normalized emails
+// (Utils.normalizeEmail), the form they are stored and looked up in.
+@Component
+public class UnknownEmailCache implements MeterBinder {
+
+    public static final String CACHE_NAME = "unknownEmails";
+
+    private final Cache<String, Boolean> unknown;
+
+    public UnknownEmailCache(
+            @Value("${app.security.unknown-email-cache.ttl:PT60S}") Duration ttl,
+            @Value("${app.security.unknown-email-cache.maximum-size:100000}") long maximumSize) {
+        this.unknown = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+    }
+
+    public boolean isUnknown(String email) {
+        return unknown.getIfPresent(Utils.normalizeEmail(email)) != null;
+    }
+
+    public void markUnknown(String email) {
+        unknown.put(Utils.normalizeEmail(email), Boolean.TRUE);
+    }
+
+    public void markRegistered(String email) {
+        unknown.invalidate(Utils.normalizeEmail(email));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, unknown, CACHE_NAME);
+    }
+}
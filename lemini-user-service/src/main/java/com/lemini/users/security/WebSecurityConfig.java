@@ -2,51 +2,57 @@ package com.lemini.users.security;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import jakarta.servlet.DispatcherType;
 import jakarta.validation.Validator;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.web.servlet.HandlerExceptionResolver;
 
-import java.util.Base64;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.security.servlet.PathRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.lemini.users.service.UserService;
 import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
 
 @Configuration
 @EnableWebSecurity
 public class WebSecurityConfig {
 
     private final UserService userService;
-    private final PasswordEncoderConfig passwordEncoder;
+    private final PasswordEncoder passwordEncoder;
     private final Validator validator;
     private final HandlerExceptionResolver resolver;
 
-    private final String tokenSecret;
+    private final RevokedUserDenylist denylist;
+
+    private final AuthorizationMode authorizationMode;
 
     public WebSecurityConfig(UserService userService,
-                             PasswordEncoderConfig passwordEncoder,
+                             PasswordEncoder passwordEncoder,
                              Validator validator,
                              @Qualifier("handlerExceptionResolver") HandlerExceptionResolver resolver,
-                             @Value("${app.security.tokenSecret}") String tokenSecret) {
+                             RevokedUserDenylist denylist,
+                             @Value("${app.security.authorization-mode:LOOKUP}") AuthorizationMode authorizationMode) {
         this.userService = userService;
         this.passwordEncoder = passwordEncoder;
         this.validator = validator;
         this.resolver = resolver;
-        this.tokenSecret = tokenSecret;
+        this.denylist = denylist;
+        this.authorizationMode = authorizationMode;
     }
 
     @Bean
-    public CustomAuthorizationFilter customAuthorizationFilter(JwtParser jwtParser) {
-        return new CustomAuthorizationFilter(userService, jwtParser, resolver);
+    public CustomAuthorizationFilter customAuthorizationFilter(VerifiedTokenCache tokenCache) {
+        return new CustomAuthorizationFilter(userService, tokenCache, denylist, authorizationMode, resolver);
     }
 
     @Bean
@@ -55,20 +61,26 @@ public class WebSecurityConfig {
                 .getSharedObject(AuthenticationManagerBuilder.class);
 
         authenticationManagerBuilder.userDetailsService(userService)
-                .passwordEncoder(passwordEncoder.bCryptPasswordEncoder());
+                .passwordEncoder(passwordEncoder);
+        // Without this the global AuthenticationManager retries every failed login, hashing the password twice
+        authenticationManagerBuilder.parentAuthenticationManager(null);
 
         return authenticationManagerBuilder.build();
     }
 
     @Bean
-    SecurityFilterChain securityFilterChain(HttpSecurity http, JwtParser jwtParser) throws Exception {
+    SecurityFilterChain securityFilterChain(HttpSecurity http, VerifiedTokenCache tokenCache, TokenIssuer tokenIssuer,
+            ObjectMapper objectMapper, Jackson2ObjectMapperBuilder mapperBuilder) throws Exception {
 
         AuthenticationManager authManager = authenticationManager(http);
 
         CustomAuthenticationFilter customAuthenticationFilter = new CustomAuthenticationFilter(
             authManager,
             validator,
-            resolver
+            resolver,
+            tokenIssuer,
+            objectMapper,
+            mapperBuilder.createXmlMapper(true).build() // same spring.jackson.* settings as the MVC XML converter
         );
 
         customAuthenticationFilter.setFilterProcessesUrl(SecurityConstants.SIGN_IN_URL);
@@ -78,13 +90,17 @@ public class WebSecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers(HttpMethod.POST, "/api/v1/users").permitAll() // Allow Registration
                         .requestMatchers(PathRequest.toH2Console()).permitAll() // Allow H2 Console
+                        .requestMatchers(HttpMethod.DELETE, "/api/v1/users").hasAuthority(SecurityConstants.DELETE_AUTHORITY)
+                        // Streaming responses (export) finish on an async dispatch of a request already authorized
+                        // on its original dispatch; the JWT filter does not run again there
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .anyRequest().authenticated())
                 .headers(headers -> headers.frameOptions(frameOptions -> frameOptions.disable())) // Allow frames for H2
                 .authenticationManager(authManager) // Inject the manager
                 // Add login filter to the chain
                 .addFilter(customAuthenticationFilter)
                 // Add authorization filter to the chain - position it explicitly
-                .addFilterAfter(customAuthorizationFilter(jwtParser), CustomAuthenticationFilter.class)
+                .addFilterAfter(customAuthorizationFilter(tokenCache), CustomAuthenticationFilter.class)
                 .sessionManagement(session -> session
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS)); // Force JWT mode
 
@@ -92,9 +108,9 @@ public class WebSecurityConfig {
     }
 
     @Bean
-    public JwtParser jwtParser() {
-        byte[] signingKey = Base64.getDecoder().decode(tokenSecret.getBytes());
-        return Jwts.parser().verifyWith(Keys.hmacShaKeyFor(signingKey)).build();
+    public JwtParser jwtParser(SigningKeyRing signingKeyRing) {
+        // The key is picked per token from its "kid" header, a map lookup in the ring's current snapshot
+        return Jwts.parser().keyLocator(signingKeyRing).build();
     }
 
 }
@@ -0,0 +1,11 @@
+package com.lemini.users.service;
+
+import com.lemini.users.shared.dto.UserDto;
+
+public interface EmailVerificationService {
+
+    //Called at registration once the user is committed, and again for every resent verification email
+    String issueToken(String userId);
+
+    UserDto verifyEmail(String token);
+}
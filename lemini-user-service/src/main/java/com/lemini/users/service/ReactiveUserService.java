@@ -0,0 +1,16 @@
+package com.lemini.users.service;
+
+import com.lemini.users.shared.dto.UserDto;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+//Non-blocking counterparts of the UserService reads, for the reactive read path
+public interface ReactiveUserService {
+
+    //Errors with USER_NOT_FOUND like UserService.getUserByUserId
+    Mono<UserDto> getUserByUserId(String userId);
+
+    //Pages start at 1, users in id order like UserService.getUsers
+    Flux<UserDto> getUsers(int page, int limit);
+}
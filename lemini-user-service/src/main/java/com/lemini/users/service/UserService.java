@@ -2,22 +2,43 @@ package com.lemini.users.service;
 
 
 import java.util.List;
+import java.util.function.Consumer;
 
+import org.springframework.data.domain.Slice;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 
 import com.lemini.users.shared.dto.UserDto;
+import com.lemini.users.shared.dto.UserImportResultDto;
 
 
-public interface UserService extends UserDetailsService {
+public interface UserService extends UserDetailsService, UserDetailsPasswordService {
 
     //Called by Spring Security
     @Override
     UserDetails loadUserByUsername(String email);
 
+    //Called by Spring Security after a successful login whose stored hash needs an upgrade
+    @Override
+    UserDetails updatePassword(UserDetails user, String newEncryptedPassword);
+
     UserDto createUser(UserDto userDto);
     UserDto getUserByUserId(String userId);
     UserDto updateUserDto(String userId, UserDto userDto);
+    //Partial update: null fields of changes are left as stored. The result carries no addresses
+    UserDto patchUser(String userId, UserDto changes);
     void deleteUserByUserId(String userId);
+    //Bulk delete in one transaction, returns the userIds that did not exist
+    List<String> deleteUsersByUserIds(List<String> userIds);
     List<UserDto> getUsers(int page, int limit);
+
+    //Keyset listing: up to limit users with an id above afterId, in id order
+    Slice<UserDto> getUsersAfter(long afterId, int limit);
+
+    //Bulk registration of already validated users, one result per input row in the same order
+    List<UserImportResultDto> importUsers(List<UserDto> users);
+
+    //Export: hands every user to the action in id order without holding them all in memory
+    void forEachUser(Consumer<UserDto> action);
 }
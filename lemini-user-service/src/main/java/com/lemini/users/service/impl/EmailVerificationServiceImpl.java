@@ -0,0 +1,71 @@
+package com.lemini.users.service.impl;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.lemini.users.exceptions.UserServiceException;
+import com.lemini.users.io.entity.EmailVerificationTokenEntity;
+import com.lemini.users.io.entity.UserEntity;
+import com.lemini.users.io.mapper.UserEntityMapper;
+import com.lemini.users.io.repository.EmailVerificationTokenRepository;
+import com.lemini.users.io.repository.UserRepository;
+import com.lemini.users.security.SecurityConstants;
+import com.lemini.users.service.EmailVerificationService;
+import com.lemini.users.shared.Utils;
+import com.lemini.users.shared.dto.UserDto;
+
+import lombok.AllArgsConstructor;
+
+@Service
+@AllArgsConstructor
+public class EmailVerificationServiceImpl implements EmailVerificationService {
+
+    public static final int TOKEN_LENGTH = 43; // ~256 bits from the 62 character alphabet
+    private static final Duration TOKEN_VALIDITY = Duration.ofMillis(SecurityConstants.EXPIRATION_TIME);
+
+    private final EmailVerificationTokenRepository tokenRepository;
+    private final UserRepository userRepository;
+    private final UserEntityMapper userMapper;
+    private final Utils utils;
+
+    @Transactional
+    @Override
+    public String issueToken(String userId) {
+        UserEntity userEntity = userRepository.findByNaturalId(userId)
+            .orElseThrow(() -> new UserServiceException(UserServiceException.UserErrorType.USER_NOT_FOUND));
+
+        if (Boolean.TRUE.equals(userEntity.getEmailVerificationStatus())) {
+            throw new UserServiceException(UserServiceException.UserErrorType.BAD_REQUEST);
+        }
+
+        // Only the latest email's link stays valid
+        tokenRepository.deleteByUser(userEntity);
+
+        EmailVerificationTokenEntity tokenEntity = new EmailVerificationTokenEntity();
+        tokenEntity.setToken(utils.generateVerificationToken(TOKEN_LENGTH));
+        tokenEntity.setExpiresAt(Instant.now().plus(TOKEN_VALIDITY));
+        tokenEntity.setUser(userEntity);
+
+        return tokenRepository.save(tokenEntity).getToken();
+    }
+
+    //The cached principal carries emailVerificationStatus, so it is replaced with the verified user
+    @Transactional
+    @CachePut(cacheNames = SecurityConstants.PRINCIPAL_CACHE, key = "#result.userId()")
+    @Override
+    public UserDto verifyEmail(String token) {
+        EmailVerificationTokenEntity tokenEntity = tokenRepository.findByToken(token)
+            .filter(candidate -> candidate.getExpiresAt().isAfter(Instant.now()))
+            .orElseThrow(() -> new UserServiceException(UserServiceException.UserErrorType.INVALID_TOKEN));
+
+        UserEntity userEntity = tokenEntity.getUser();
+        userEntity.setEmailVerificationStatus(true);
+        tokenRepository.deleteByUser(userEntity);
+
+        return userMapper.userEntityToUserDto(userEntity);
+    }
+}
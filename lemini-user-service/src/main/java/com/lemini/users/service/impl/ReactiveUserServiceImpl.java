@@ -0,0 +1,31 @@
+package com.lemini.users.service.impl;
+
+import org.springframework.stereotype.Service;
+
+import com.lemini.users.exceptions.UserServiceException;
+import com.lemini.users.io.repository.ReactiveUserReader;
+import com.lemini.users.service.ReactiveUserService;
+import com.lemini.users.shared.dto.UserDto;
+
+import lombok.AllArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+//Reads straight from the database: no principal or second-level cache on this path, and no read-your-writes routing
+@Service
+@AllArgsConstructor
+public class ReactiveUserServiceImpl implements ReactiveUserService {
+
+    private final ReactiveUserReader userReader;
+
+    @Override
+    public Mono<UserDto> getUserByUserId(String userId) {
+        return userReader.findByUserId(userId)
+            .switchIfEmpty(Mono.error(() -> new UserServiceException(UserServiceException.UserErrorType.USER_NOT_FOUND)));
+    }
+
+    @Override
+    public Flux<UserDto> getUsers(int page, int limit) {
+        return userReader.findPage((long) (page - 1) * limit, limit);
+    }
+}
@@ -1,41 +1,104 @@
 package com.lemini.users.service.impl;
 
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import jakarta.persistence.EntityManager;
 import lombok.AllArgsConstructor;
 
 import com.lemini.users.exceptions.UserServiceException;
+import com.lemini.users.io.datasource.ReadYourWritesWindow;
+import com.lemini.users.io.datasource.Workload;
+import com.lemini.users.io.datasource.WorkloadClass;
 import com.lemini.users.io.entity.UserEntity;
 import com.lemini.users.io.mapper.UserEntityMapper;
+import com.lemini.users.io.repository.UserKey;
 import com.lemini.users.io.repository.UserRepository;
+import com.lemini.users.security.BoundedPasswordEncoder;
 import com.lemini.users.security.CustomUser;
+import com.lemini.users.security.RevokedUserDenylist;
+import com.lemini.users.security.SecurityConstants;
+import com.lemini.users.security.UnknownEmailCache;
+import com.lemini.users.service.EmailVerificationService;
 import com.lemini.users.service.UserService;
 import com.lemini.users.shared.Utils;
 import com.lemini.users.shared.dto.UserDto;
+import com.lemini.users.shared.dto.UserImportResultDto;
+import com.lemini.users.shared.enums.UserImportStatus;
 
-import java.util.Collections;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 
 @Service
 @AllArgsConstructor
 public class UserServiceImpl implements UserService {
 
+    //Matches hibernate.jdbc.batch_size
+    private static final int IMPORT_BATCH_SIZE = 50;
+    //Keeps the IN list of the duplicate check under common bind parameter limits
+    private static final int EMAIL_LOOKUP_CHUNK_SIZE = 1000;
+    //Users per set-based delete; each chunk's ids are bound into the address and user deletes
+    private static final int DELETE_BATCH_SIZE = 500;
+
     private final UserRepository userRepository;
     private final UserEntityMapper userMapper;
     private final Utils utils;
-    private final BCryptPasswordEncoder bCryptPasswordEncoder;
+    private final BoundedPasswordEncoder passwordEncoder;
+    private final RevokedUserDenylist revokedUserDenylist;
+    private final UnknownEmailCache unknownEmailCache;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final CacheManager cacheManager;
+    private final ReadYourWritesWindow readYourWrites;
+    private final EmailVerificationService emailVerificationService;
     
     //This method is called by Spring Security for authentication
+    @Workload(WorkloadClass.AUTH)
     @Override
-    public UserDetails loadUserByUsername(String email) throws UserServiceException {
-        //1. Find user by email and throw exception if not found
-        UserEntity userEntity = userRepository.findByEmail(email)
-            .orElseThrow(() -> new UserServiceException(UserServiceException.UserErrorType.USER_NOT_FOUND));
+    public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        //1. Find user by email, answering emails already found unknown without a query. Emails are stored
+        //   normalized, so Foo@x.com logs in as foo@x.com and shares its unknown-email cache entry.
+        //   UsernameNotFoundException makes DaoAuthenticationProvider verify against a dummy hash and reply
+        //   with the same 401 as a wrong password, so unknown emails cost the same and look the same
+        String email = Utils.normalizeEmail(username);
+        if (unknownEmailCache.isUnknown(email)) {
+            throw new UsernameNotFoundException(username);
+        }
+
+        //   findByEmail is read-only and so served by the replica, except right after registering: a replica that has
+        //   not caught up would fail the first login and get the new email cached as unknown
+        Optional<UserEntity> user = readYourWrites.isRecent(email)
+            ? transactionTemplate.execute(status -> userRepository.findByEmail(email))
+            : userRepository.findByEmail(email);
+
+        UserEntity userEntity = user
+            .orElseThrow(() -> {
+                unknownEmailCache.markUnknown(email);
+                return new UsernameNotFoundException(username);
+            });
             
         //2. Return UserDetails object
         return new CustomUser(
@@ -46,53 +109,225 @@ public class UserServiceImpl implements UserService {
             true,
             true,
             true,
-            Collections.emptyList()
+            userRepository.findAuthorityNamesById(userEntity.getId()).stream()
+                .map(SimpleGrantedAuthority::new)
+                .toList()
         );
     }
 
+    //Rehash on login: the stored hash used an outdated bcrypt cost or no algorithm prefix.
+    //A single-column update, the principal is evicted because the cached UserDto carries the old hash
+    @Workload(WorkloadClass.AUTH)
     @Transactional
+    @CacheEvict(cacheNames = SecurityConstants.PRINCIPAL_CACHE, key = "#user.userId")
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newEncryptedPassword) {
+        userRepository.updateEncryptedPasswordByEmail(user.getUsername(), newEncryptedPassword);
+
+        return ((CustomUser) user).withPassword(newEncryptedPassword);
+    }
+
+    //No duplicate lookup: the insert itself is the check. The unique email constraint turns the loser of
+    //concurrent registrations into EMAIL_ALREADY_EXISTS, which a lookup followed by an insert cannot.
+    //Not @Transactional, save() commits on its own and no connection is held while the password hashes;
+    //the verification token is issued in a transaction of its own once the user is committed
     @Override
     public UserDto createUser(UserDto user) {
 
-        // 1. Duplicate Check
-        if(userRepository.findByEmail(user.email()).isPresent()) {
-            throw new UserServiceException(UserServiceException.UserErrorType.EMAIL_ALREADY_EXISTS);
+        // 1. Map Record -> Entity with generated public ids
+        UserEntity userEntity = newUserEntity(user);
+
+        // 2. Encrypted Password
+        userEntity.setEncryptedPassword(passwordEncoder.encode(user.password()));
+
+        // 3. Save User
+        UserEntity storedUser;
+        try {
+            storedUser = userRepository.save(userEntity);
+        } catch (DataIntegrityViolationException e) {
+            if (isEmailConflict(e)) {
+                throw new UserServiceException(UserServiceException.UserErrorType.EMAIL_ALREADY_EXISTS);
+            }
+            throw e;
         }
+        unknownEmailCache.markRegistered(storedUser.getEmail());
+        readYourWrites.markWritten(storedUser.getEmail());
+
+        // 4. Issue the Email Verification Token
+        emailVerificationService.issueToken(storedUser.getUserId());
         
-        // 2. Map Record -> Entity
+        return userMapper.userEntityToUserDto(storedUser);
+    }
+
+    //Drivers report the constraint name in their own case and decoration (H2: "PUBLIC.UK_USERS_EMAIL ...").
+    //Repository calls throw it translated, a flush on the EntityManager as Hibernate's own exception
+    private static boolean isEmailConflict(RuntimeException e) {
+        ConstraintViolationException violation = e instanceof ConstraintViolationException direct ? direct
+            : e.getCause() instanceof ConstraintViolationException cause ? cause : null;
+        return violation != null
+            && violation.getConstraintName() != null
+            && violation.getConstraintName().toLowerCase(Locale.ROOT).contains(UserEntity.EMAIL_CONSTRAINT);
+    }
+
+    //Bulk registration: one set-based duplicate check, hashing spread over the hashing pool outside of any
+    //transaction, then inserts in JDBC batches (hibernate.jdbc.batch_size) within a single transaction
+    @Workload(WorkloadClass.BULK)
+    @Override
+    public List<UserImportResultDto> importUsers(List<UserDto> users) {
+
+        // 1. Duplicate Check, against stored users and earlier rows of this import, on normalized emails: MySQL's
+        //    collation makes A@x.com and a@x.com the same key for uk_users_email. On the primary, a lagging
+        //    replica would let a just registered email through to fail the whole insert batch
+        Set<String> takenEmails = transactionTemplate.execute(status -> findExistingEmails(users));
+
+        List<UserImportResultDto> results = new ArrayList<>(users.size());
+        List<Integer> rows = new ArrayList<>();
+        List<String> passwords = new ArrayList<>();
+        for (UserDto user : users) {
+            if (!takenEmails.add(Utils.normalizeEmail(user.email()))) {
+                results.add(new UserImportResultDto(UserImportStatus.DUPLICATE, null));
+                continue;
+            }
+
+            // 2. Public user id now, so the result can carry it before anything is stored
+            rows.add(results.size());
+            passwords.add(user.password());
+            results.add(new UserImportResultDto(UserImportStatus.CREATED, utils.generateUserId(30)));
+        }
+
+        // 3. Encrypted Passwords
+        List<String> encryptedPasswords = passwordEncoder.encodeAll(passwords);
+        List<ImportRow> pending = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            int row = rows.get(i);
+            pending.add(new ImportRow(row, users.get(row), results.get(row).userId(), encryptedPasswords.get(i)));
+        }
+
+        // 4. Save Users
+        List<UserEntity> newUsers = saveImportedUsers(pending, results);
+        newUsers.forEach(userEntity -> {
+            unknownEmailCache.markRegistered(userEntity.getEmail());
+            readYourWrites.markWritten(userEntity.getEmail());
+        });
+
+        return results;
+    }
+
+    private record ImportRow(int result, UserDto user, String userId, String encryptedPassword) {
+    }
+
+    //A batch at a time, so the persistence context stays small however large the import. A registration that
+    //commits between the duplicate check and the insert fails the whole transaction on the unique email
+    //constraint: its rows are then marked DUPLICATE and the rest inserted again, from fresh entities since the
+    //rolled back ones already hold sequence ids. Each retry drops at least one row
+    private List<UserEntity> saveImportedUsers(List<ImportRow> pending, List<UserImportResultDto> results) {
+        while (true) {
+            List<UserEntity> newUsers = pending.stream().map(this::newImportedUser).toList();
+
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    for (int from = 0; from < newUsers.size(); from += IMPORT_BATCH_SIZE) {
+                        userRepository.saveAll(newUsers.subList(from, Math.min(from + IMPORT_BATCH_SIZE, newUsers.size())));
+                        entityManager.flush();
+                        entityManager.clear();
+                    }
+                });
+                return newUsers;
+            } catch (DataIntegrityViolationException | ConstraintViolationException e) {
+                if (!isEmailConflict(e)) {
+                    throw e;
+                }
+                Set<String> registered = transactionTemplate.execute(
+                    status -> findExistingEmails(pending.stream().map(ImportRow::user).toList()));
+                if (registered.isEmpty()) {
+                    // Nothing stored explains it: two rows of this import the collation treats as equal beyond case
+                    // (accents, trailing spaces), or a conflicting user deleted again since
+                    return saveImportedUsersOneByOne(pending, results);
+                }
+
+                pending.removeIf(row -> {
+                    if (!registered.contains(Utils.normalizeEmail(row.user().email()))) {
+                        return false;
+                    }
+                    results.set(row.result(), new UserImportResultDto(UserImportStatus.DUPLICATE, null));
+                    return true;
+                });
+            }
+        }
+    }
+
+    //Each row commits on its own, so a conflict marks that row DUPLICATE and costs nothing else
+    private List<UserEntity> saveImportedUsersOneByOne(List<ImportRow> pending, List<UserImportResultDto> results) {
+        List<UserEntity> newUsers = new ArrayList<>(pending.size());
+        for (ImportRow row : pending) {
+            try {
+                newUsers.add(userRepository.save(newImportedUser(row)));
+            } catch (DataIntegrityViolationException e) {
+                if (!isEmailConflict(e)) {
+                    throw e;
+                }
+                results.set(row.result(), new UserImportResultDto(UserImportStatus.DUPLICATE, null));
+            }
+        }
+        return newUsers;
+    }
+
+    private UserEntity newImportedUser(ImportRow row) {
+        UserEntity userEntity = newUserEntity(row.user(), row.userId());
+        userEntity.setEncryptedPassword(row.encryptedPassword());
+        return userEntity;
+    }
+
+    //Normalized, whatever case the database stored or matched them in
+    private Set<String> findExistingEmails(List<UserDto> users) {
+        List<String> emails = users.stream().map(user -> Utils.normalizeEmail(user.email())).distinct().toList();
+
+        Set<String> existing = new HashSet<>();
+        for (int from = 0; from < emails.size(); from += EMAIL_LOOKUP_CHUNK_SIZE) {
+            userRepository.findExistingEmails(emails.subList(from, Math.min(from + EMAIL_LOOKUP_CHUNK_SIZE, emails.size())))
+                .forEach(email -> existing.add(Utils.normalizeEmail(email)));
+        }
+        return existing;
+    }
+
+    private UserEntity newUserEntity(UserDto user) {
+        return newUserEntity(user, utils.generateUserId(30));
+    }
+
+    private UserEntity newUserEntity(UserDto user, String userId) {
         UserEntity userEntity = userMapper.userDtoToUserEntity(user);
 
-        // 3. Generate User ID and Encrypted Password
-        userEntity.setUserId(utils.generateUserId(30));
-        userEntity.setEncryptedPassword(bCryptPasswordEncoder.encode(user.password()));
-        userEntity.setEmailVerificationToken(utils.generateEmailVerificationToken(userEntity.getUserId()));
+        userEntity.setUserId(userId);
+        userEntity.setEmail(Utils.normalizeEmail(userEntity.getEmail()));
         userEntity.setEmailVerificationStatus(false);
 
-        // 4. Set Addresses UserEntity Reference
+        // Set Addresses UserEntity Reference
         if(userEntity.getAddresses() != null) {
             userEntity.getAddresses().forEach(address -> {
                 address.setUserProfile(userEntity);
                 address.setAddressId(utils.generateAddressId(30));
             });
         }
-
-        // 5. Save User
-        UserEntity storedUser = userRepository.save(userEntity);
-        
-        return userMapper.userEntityToUserDto(storedUser);
+        return userEntity;
     }
 
+    //Cached because the authorization filter resolves the principal on every authenticated request.
+    //A principal cache miss is still answered from the second-level cache when the user was read recently
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = SecurityConstants.PRINCIPAL_CACHE, key = "#userId", sync = true)
     @Override
     public UserDto getUserByUserId(String userId) {
-        UserEntity userEntity = userRepository.findByUserId(userId)
+        UserEntity userEntity = userRepository.findByNaturalId(userId)
             .orElseThrow(() -> new UserServiceException(UserServiceException.UserErrorType.USER_NOT_FOUND));
 
         return userMapper.userEntityToUserDto(userEntity);
     }
     
+    @Transactional
+    @CacheEvict(cacheNames = SecurityConstants.PRINCIPAL_CACHE, key = "#userId")
     @Override
     public UserDto updateUserDto(String userId, UserDto userDto) {
-        UserEntity userEntity = userRepository.findByUserId(userId)
+        UserEntity userEntity = userRepository.findByNaturalId(userId)
             .orElseThrow(() -> new UserServiceException(UserServiceException.UserErrorType.USER_NOT_FOUND));
 
         userEntity.setFirstName(userDto.firstName());
@@ -103,20 +338,139 @@ public class UserServiceImpl implements UserService {
         return userMapper.userEntityToUserDto(updatedUserEntity);
     }
 
+    //Loads the users row alone, from the second-level cache when warm, and lets dirty checking write the changed
+    //name columns only (UserEntity is @DynamicUpdate), so a stale cached row cannot overwrite newer columns. Only
+    //this row's cache entry is evicted, where a bulk UPDATE would evict the whole users region. Addresses and
+    //roles are never loaded
+    @Transactional
+    @CacheEvict(cacheNames = SecurityConstants.PRINCIPAL_CACHE, key = "#userId")
     @Override
-    public void deleteUserByUserId(String userId) {
-        UserEntity userEntity = userRepository.findByUserId(userId)
+    public UserDto patchUser(String userId, UserDto changes) {
+        UserEntity userEntity = userRepository.findByNaturalId(userId)
             .orElseThrow(() -> new UserServiceException(UserServiceException.UserErrorType.USER_NOT_FOUND));
-        
-            userRepository.delete(userEntity);
+
+        if (changes.firstName() != null) {
+            userEntity.setFirstName(changes.firstName());
+        }
+        if (changes.lastName() != null) {
+            userEntity.setLastName(changes.lastName());
+        }
+
+        return userMapper.userEntityToUserProfileDto(userEntity);
+    }
+
+    @Transactional
+    @Override
+    public void deleteUserByUserId(String userId) {
+        List<UserKey> users = userRepository.findKeysByUserIdIn(List.of(userId));
+        if (users.isEmpty()) {
+            throw new UserServiceException(UserServiceException.UserErrorType.USER_NOT_FOUND);
+        }
+
+        deleteUsers(users);
+    }
+
+    //Chunks of DELETE_BATCH_SIZE users, three statements each, all in one transaction
+    @Workload(WorkloadClass.BULK)
+    @Transactional
+    @Override
+    public List<String> deleteUsersByUserIds(List<String> userIds) {
+        List<String> distinctUserIds = userIds.stream().distinct().toList();
+        Set<String> deleted = new HashSet<>();
+
+        for (int from = 0; from < distinctUserIds.size(); from += DELETE_BATCH_SIZE) {
+            List<UserKey> users = userRepository.findKeysByUserIdIn(
+                distinctUserIds.subList(from, Math.min(from + DELETE_BATCH_SIZE, distinctUserIds.size())));
+            if (!users.isEmpty()) {
+                deleteUsers(users);
+            }
+            users.forEach(user -> deleted.add(user.userId()));
+        }
+
+        return distinctUserIds.stream()
+            .filter(userId -> !deleted.contains(userId))
+            .toList();
+    }
+
+    private void deleteUsers(List<UserKey> users) {
+        List<Long> ids = users.stream().map(UserKey::id).toList();
+
+        userRepository.deleteAddressesByUserIdIn(ids);
+        userRepository.deleteUsersByIdIn(ids);
+
+        //Only once the deletes are committed: a rolled back delete must not leave its users locked out,
+        //answered as unknown at login or missing from the principal cache while their rows still exist
+        afterCommit(() -> {
+            Cache principalCache = cacheManager.getCache(SecurityConstants.PRINCIPAL_CACHE);
+            users.forEach(user -> {
+                // Tokens of a deleted user stay valid until they expire; claims-only authorization checks this list
+                revokedUserDenylist.revoke(user.userId());
+                unknownEmailCache.markUnknown(user.email());
+                if (principalCache != null) {
+                    principalCache.evict(user.userId());
+                }
+            });
+        });
     }
 
+    //Runs at once when called outside of a transaction
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    @Workload(WorkloadClass.BULK)
+    @Transactional(readOnly = true)
     @Override
     public List<UserDto> getUsers(int page, int limit) {
 
         if(page > 0) page -= 1; //Spring Data JPA pages are zero indexed
-        
-        return userRepository.findAll(PageRequest.of(page, limit))
+
+        //A page of ids first, then the users with their addresses in one query, whatever the page size
+        return findUsersWithAddresses(userRepository.findIds(PageRequest.of(page, limit, Sort.by("id"))).getContent());
+    }
+
+    @Workload(WorkloadClass.BULK)
+    @Transactional(readOnly = true)
+    @Override
+    public Slice<UserDto> getUsersAfter(long afterId, int limit) {
+        //Slice fetches one extra id to tell whether more follow, no count query
+        Slice<Long> ids = userRepository.findIdsAfter(afterId, PageRequest.of(0, limit));
+
+        return new SliceImpl<>(findUsersWithAddresses(ids.getContent()), ids.getPageable(), ids.hasNext());
+    }
+
+    //Streams inside one read-only transaction; clearing the persistence context every batch keeps
+    //the already exported entities from piling up in it for the whole table
+    @Workload(WorkloadClass.BULK)
+    @Transactional(readOnly = true)
+    @Override
+    public void forEachUser(Consumer<UserDto> action) {
+        try (Stream<UserEntity> users = userRepository.streamAllWithAddresses()) {
+            int[] exported = {0};
+            users.forEach(userEntity -> {
+                action.accept(userMapper.userEntityToUserDto(userEntity));
+                if (++exported[0] % UserRepository.EXPORT_FETCH_SIZE == 0) {
+                    entityManager.clear();
+                }
+            });
+        }
+    }
+
+    private List<UserDto> findUsersWithAddresses(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        return userRepository.findAllWithAddressesByIdIn(ids)
             .stream()
             .map(userMapper::userEntityToUserDto)
             .toList();
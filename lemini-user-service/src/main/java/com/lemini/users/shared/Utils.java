@@ -1,48 +1,155 @@
 package com.lemini.users.shared;
 
-import java.nio.charset.StandardCharsets;
+import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
-import java.util.Date;
-import java.util.Random;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import com.lemini.users.security.SecurityConstants;
-
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
+import com.lemini.users.shared.enums.IdFormat;
 
 @Component
 public class Utils {
 
-    private final Random RANDOM = new SecureRandom();
-    private final String ALPHABET = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz";
+    private static final char[] ALPHABET = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz".toCharArray();
+    private static final int BUFFER_SIZE = 512;
+
+    // Epoch millis in base 36 (digits and upper case letters only) fit 10 characters for the next 100,000 years
+    public static final int TIME_PREFIX_LENGTH = 10;
+    private static final int TIME_RADIX = 36;
+
+    // Enough stripes that concurrent registrations rarely meet on the same one, sized as a power of two for masking
+    private final EntropyStripe[] stripes = newStripes(Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 4));
+
+    private final IdFormat idFormat;
+
+    public Utils() {
+        this(IdFormat.RANDOM);
+    }
+
+    @Autowired
+    public Utils(@Value("${app.ids.format:RANDOM}") IdFormat idFormat) {
+        this.idFormat = idFormat;
+    }
+
+    // The form emails are compared and cached in: MySQL's default collation matches them case-insensitively
+    public static String normalizeEmail(String email) {
+        return email == null ? null : email.toLowerCase(Locale.ROOT);
+    }
 
     public String generateUserId(int length) {
-        return generateRandomString(length);
+        return generateId(length);
     }
 
     public String generateAddressId(int length) {
+        return generateId(length);
+    }
+
+    // Always fully random, whatever the id format
+    public String generateVerificationToken(int length) {
         return generateRandomString(length);
     }
 
-    public String generateEmailVerificationToken(String userId) {
-    String token = Jwts.builder()
-            .subject(userId)
-            .expiration(new Date(System.currentTimeMillis() + SecurityConstants.EXPIRATION_TIME)) 
-            .signWith(Keys.hmacShaKeyFor(SecurityConstants.getTokenSecret().getBytes(StandardCharsets.UTF_8)))
-            .compact();
-    return token;
-}
+    private String generateId(int length) {
+        return idFormat == IdFormat.TIME_ORDERED ? generateTimeOrderedString(length) : generateRandomString(length);
+    }
 
     private String generateRandomString(int length) {
-        StringBuilder returnValue = new StringBuilder(length);
+        char[] chars = new char[length];
+        fillRandom(chars, 0);
+        return new String(chars);
+    }
+
+    // ULID-style: a creation-time prefix followed by random characters, so new rows append to the right edge
+    // of the unique index instead of landing on a random page. The prefix avoids lower case letters and
+    // therefore sorts the same under binary and case-insensitive collations.
+    private String generateTimeOrderedString(int length) {
+        if (length <= TIME_PREFIX_LENGTH) {
+            throw new IllegalArgumentException("Time ordered ids need more than " + TIME_PREFIX_LENGTH + " characters");
+        }
 
-        for (int i = 0; i < length; i++) {
-            returnValue.append(ALPHABET.charAt(RANDOM.nextInt(ALPHABET.length())));
+        char[] chars = new char[length];
+        long millis = System.currentTimeMillis();
+        for (int i = TIME_PREFIX_LENGTH - 1; i >= 0; i--) {
+            chars[i] = ALPHABET[(int) (millis % TIME_RADIX)];
+            millis /= TIME_RADIX;
         }
+        fillRandom(chars, TIME_PREFIX_LENGTH);
 
-        return new String(returnValue);
+        return new String(chars);
+    }
+
+    // Random bytes are drawn in bulk and mapped 6 bits per character; values 62 and 63 are skipped
+    // so every character of the alphabet stays equally likely
+    private void fillRandom(char[] chars, int from) {
+        EntropyStripe stripe = acquireStripe();
+        try {
+            for (int i = from; i < chars.length; ) {
+                int index = stripe.nextByte() & 0x3F;
+                if (index < ALPHABET.length) {
+                    chars[i++] = ALPHABET[index];
+                }
+            }
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    // Starts at a random stripe and takes the first free one; only waits when every stripe is busy
+    private EntropyStripe acquireStripe() {
+        int mask = stripes.length - 1;
+        int start = ThreadLocalRandom.current().nextInt();
+
+        for (int i = 0; i < stripes.length; i++) {
+            EntropyStripe stripe = stripes[(start + i) & mask];
+            if (stripe.lock.tryLock()) {
+                return stripe;
+            }
+        }
+
+        EntropyStripe stripe = stripes[start & mask];
+        stripe.lock.lock();
+        return stripe;
+    }
+
+    private static EntropyStripe[] newStripes(int count) {
+        EntropyStripe[] stripes = new EntropyStripe[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new EntropyStripe();
+        }
+        return stripes;
+    }
+
+    // One independently seeded generator with its own buffer, used by one thread at a time.
+    // A ReentrantLock rather than synchronized, so a virtual thread waiting for a stripe unmounts instead of
+    // pinning its carrier; the generator's own monitor is then never contended
+    private static final class EntropyStripe {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final SecureRandom random = newSecureRandom();
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+        private int position = BUFFER_SIZE;
+
+        private int nextByte() {
+            if (position == BUFFER_SIZE) {
+                random.nextBytes(buffer);
+                position = 0;
+            }
+            return buffer[position++];
+        }
+
+        // DRBG instances are independent; the default NativePRNG serializes every instance on one global lock
+        private static SecureRandom newSecureRandom() {
+            try {
+                return SecureRandom.getInstance("DRBG");
+            } catch (NoSuchAlgorithmException e) {
+                return new SecureRandom();
+            }
+        }
     }
 
 }
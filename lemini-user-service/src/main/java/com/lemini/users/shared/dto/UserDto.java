@@ -11,7 +11,6 @@ public record UserDto(
     String email,
     String password,
     String encryptedPassword,
-    String emailVerificationToken,
     Boolean emailVerificationStatus,
     List<AddressDto> addresses
 ) implements Serializable {
@@ -0,0 +1,11 @@
+package com.lemini.users.shared.dto;
+
+import java.io.Serializable;
+
+import com.lemini.users.shared.enums.UserImportStatus;
+
+public record UserImportResultDto(
+    UserImportStatus status,
+    String userId // Set for CREATED rows only
+) implements Serializable {
+}
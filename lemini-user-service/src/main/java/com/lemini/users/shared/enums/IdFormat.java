@@ -0,0 +1,6 @@
+package com.lemini.users.shared.enums;
+
+public enum IdFormat {
+    RANDOM,
+    TIME_ORDERED
+}
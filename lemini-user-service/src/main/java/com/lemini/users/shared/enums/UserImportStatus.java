@@ -0,0 +1,7 @@
+package com.lemini.users.shared.enums;
+
+public enum UserImportStatus {
+    CREATED,
+    INVALID,   // failed validation, nothing stored
+    DUPLICATE  // email already registered, or used by an earlier row of the same import
+}
@@ -1,25 +1,45 @@
 package com.lemini.users.ui.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 
 import com.lemini.users.exceptions.UserServiceException;
+import com.lemini.users.security.SecurityConstants;
 import com.lemini.users.service.UserService;
 import com.lemini.users.shared.dto.UserDto;
+import com.lemini.users.shared.dto.UserImportResultDto;
+import com.lemini.users.shared.enums.UserImportStatus;
 import com.lemini.users.ui.mapper.UserRestMapper;
+import com.lemini.users.ui.model.request.PatchUserRequestModel;
 import com.lemini.users.ui.model.request.UpdateUserRequestModel;
 import com.lemini.users.ui.model.request.UserRequestModel;
 import com.lemini.users.ui.model.response.ApiErrorResponse;
 import com.lemini.users.ui.model.response.ResponseStatusModel;
 import com.lemini.users.ui.model.response.ResponseStatusName;
 import com.lemini.users.ui.model.response.ResponseStatusResult;
+import com.lemini.users.ui.model.response.UserBulkDeleteRest;
+import com.lemini.users.ui.model.response.UserImportResultRest;
 import com.lemini.users.ui.model.response.UserRest;
+import com.lemini.users.ui.model.response.UserSliceRest;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -30,9 +50,11 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 import lombok.AllArgsConstructor;
 
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -45,8 +67,17 @@ import org.springframework.web.bind.annotation.PathVariable;
 @Tag(name = "User Controller", description = "API For Managing User Profiles")
 public class UserController {
 
+        // Keeps a single import within what one transaction and one response comfortably hold
+        static final int MAX_IMPORT_ROWS = 10_000;
+        // Same bound for a bulk delete, all of it runs in one transaction as well
+        static final int MAX_DELETE_ROWS = 10_000;
+        // Largest slice GET /users/scroll returns, each one is fetched with its addresses in a single query
+        static final int MAX_SCROLL_LIMIT = 100;
+
         private final UserService userService;
         private final UserRestMapper mapper;
+        private final ObjectMapper objectMapper;
+        private final Validator validator;
 
         @Operation(summary = "Create User profile", description = "Create a new user with personal details and addresses")
         @ApiResponses(value = {
@@ -77,6 +108,42 @@ public class UserController {
                                 .body(returnValue);
         }
 
+        @Operation(summary = "Import users in bulk", description = "Create many users in one call from a JSON array or an NDJSON file of registration requests. Every row is validated on its own and answered with its own result; invalid and duplicate rows do not stop the others", security = @SecurityRequirement(name = "bearerAuth"))
+        @ApiResponses(value = {
+                        // Senario 1: Import Processed
+                        @ApiResponse(responseCode = "200", description = "Import processed, one result per submitted row"),
+
+                        // Senario 2: Error
+                        @ApiResponse(responseCode = "400", description = "Malformed body or more than " + MAX_IMPORT_ROWS + " rows", content = @Content(schema = @Schema(implementation = ApiErrorResponse.class))),
+
+                        @ApiResponse(responseCode = "401", description = "Unauthorized (Invalid or missing authentication token)", content = @Content(schema = @Schema(implementation = ApiErrorResponse.class))),
+
+                        @ApiResponse(responseCode = "503", description = "Password hashing capacity exhausted, retry later", content = @Content(schema = @Schema(implementation = ApiErrorResponse.class)))
+        })
+        @PostMapping(path = "/import", consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE }, produces = {
+                        MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE })
+        public ResponseEntity<List<UserImportResultRest>> importUsers(@RequestBody List<UserRequestModel> users) {
+                return ResponseEntity.status(HttpStatus.OK)
+                                .body(importRows(users));
+        }
+
+        @Operation(hidden = true) // Same operation as above, documented there
+        @PostMapping(path = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE, produces = {
+                        MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE })
+        public ResponseEntity<List<UserImportResultRest>> importUsersNdjson(InputStream body) {
+
+                // One registration request per line
+                List<UserRequestModel> users;
+                try (MappingIterator<UserRequestModel> rows = objectMapper.readerFor(UserRequestModel.class).readValues(body)) {
+                        users = rows.readAll();
+                } catch (IOException e) {
+                        throw new UserServiceException(UserServiceException.UserErrorType.BAD_REQUEST);
+                }
+
+                return ResponseEntity.status(HttpStatus.OK)
+                                .body(importRows(users));
+        }
+
         @Operation(summary = "Get User info by public Id ", description = "Retrieve user profile information using the public user ID for logged in user", security = @SecurityRequirement(name = "bearerAuth"))
         @ApiResponses(value = {
                         // Senario 1: Successful Retrieval
@@ -149,6 +216,44 @@ public class UserController {
                                 .body(returnValue);
         }
 
+        @Operation(summary = "Partially update User info by public Id ", description = "Change only the fields present in the request for logged in user, omitted fields keep their values. The response leaves out addresses, which a partial update never touches", security = @SecurityRequirement(name = "bearerAuth"))
+        @ApiResponses(value = {
+                        // Senario 1: Successful Update
+                        @ApiResponse(responseCode = "200", description = "User profile updated successfully"),
+                        // Senario 2: Error
+                        @ApiResponse(responseCode = "400", description = "Validation Error", content = @Content(schema = @Schema(implementation = ApiErrorResponse.class))),
+
+                        @ApiResponse(responseCode = "404", description = "User Not Found", content = @Content(schema = @Schema(implementation = ApiErrorResponse.class))),
+
+                        @ApiResponse(responseCode = "401", description = "Unauthorized (Invalid or missing authentication token)", content = @Content(schema = @Schema(implementation = ApiErrorResponse.class)))
+
+        })
+        @PatchMapping(path = "{userId}", consumes = { MediaType.APPLICATION_JSON_VALUE,
+                        MediaType.APPLICATION_XML_VALUE }, produces = {
+                                        MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE })
+        public ResponseEntity<UserRest> patchUser(
+                        @Parameter(description = "Public user ID", example = "user123") @PathVariable("userId") String userId,
+                        @Valid @RequestBody PatchUserRequestModel changes) {
+
+                // Validate userId
+                if (userId == null || userId.isEmpty()) {
+                        throw new UserServiceException(UserServiceException.UserErrorType.BAD_REQUEST);
+                }
+
+                // Map Request Model to DTO
+                UserDto userDto = mapper.patchUserRequestModelToUserDto(changes);
+
+                // Update User
+                UserDto updatedUser = userService.patchUser(userId, userDto);
+
+                // Map DTO to Response Model
+                UserRest returnValue = mapper.userDtoToUserRest(updatedUser);
+
+                // Return Response
+                return ResponseEntity.status(HttpStatus.OK)
+                                .body(returnValue);
+        }
+
         @Operation(summary = "Delete User by public Id ", description = "Delete user profile using the public user ID for logged in user", security = @SecurityRequirement(name = "bearerAuth"))
         @ApiResponses(value = {
                         // Senario 1: Successful Deletion
@@ -184,6 +289,36 @@ public class UserController {
                                 .body(responseStatus);
         }
 
+        @Operation(summary = "Delete users in bulk", description = "Delete every user whose public user ID is listed, in one transaction. Requires the " + SecurityConstants.DELETE_AUTHORITY + " authority. Unknown IDs are reported back and do not stop the others", security = @SecurityRequirement(name = "bearerAuth"))
+        @ApiResponses(value = {
+                        // Senario 1: Successful Deletion
+                        @ApiResponse(responseCode = "200", description = "Users deleted, unknown IDs listed"),
+                        // Senario 2: Error
+                        @ApiResponse(responseCode = "400", description = "Empty list or more than " + MAX_DELETE_ROWS + " IDs", content = @Content(schema = @Schema(implementation = ApiErrorResponse.class))),
+
+                        @ApiResponse(responseCode = "401", description = "Unauthorized (Invalid or missing authentication token)", content = @Content(schema = @Schema(implementation = ApiErrorResponse.class))),
+
+                        @ApiResponse(responseCode = "403", description = "Forbidden (Token lacks " + SecurityConstants.DELETE_AUTHORITY + ")")
+        })
+        @DeleteMapping(consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE }, produces = {
+                        MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE })
+        public ResponseEntity<UserBulkDeleteRest> deleteUsers(@RequestBody List<String> userIds) {
+
+                // Validate the list
+                if (userIds.isEmpty() || userIds.size() > MAX_DELETE_ROWS
+                                || userIds.stream().anyMatch(userId -> userId == null || userId.isBlank())) {
+                        throw new UserServiceException(UserServiceException.UserErrorType.BAD_REQUEST);
+                }
+
+                // Delete Users
+                List<String> notFound = userService.deleteUsersByUserIds(userIds);
+                int deleted = (int) userIds.stream().distinct().count() - notFound.size();
+
+                // Return Response
+                return ResponseEntity.status(HttpStatus.OK)
+                                .body(new UserBulkDeleteRest(deleted, notFound));
+        }
+
         @Operation(summary = "Get list of users with pagination", description = "Retrieve a paginated list of user profiles for logged in user", security = @SecurityRequirement(name = "bearerAuth"))
         @ApiResponses(value = {
                         // Senario 1: Successful Retrieval
@@ -216,4 +351,119 @@ public class UserController {
                                 .body(returnValue);
         }
 
+        @Operation(summary = "Scroll through users with a cursor", description = "Retrieve user profiles in a stable order, following the returned cursor. Each call costs the same however far into the list it is, and no total count is computed", security = @SecurityRequirement(name = "bearerAuth"))
+        @ApiResponses(value = {
+                        // Senario 1: Successful Retrieval
+                        @ApiResponse(responseCode = "200", description = "User profiles retrieved successfully, next is null on the last slice"),
+                        // Senario 2: Error
+                        @ApiResponse(responseCode = "400", description = "Malformed cursor or a limit outside 1 to " + MAX_SCROLL_LIMIT, content = @Content(schema = @Schema(implementation = ApiErrorResponse.class))),
+
+                        @ApiResponse(responseCode = "401", description = "Unauthorized (Invalid or missing authentication token)", content = @Content(schema = @Schema(implementation = ApiErrorResponse.class)))
+        })
+        @GetMapping(path = "/scroll", produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE })
+        public ResponseEntity<UserSliceRest> scrollUsers(
+                        @Parameter(description = "Cursor from the previous response, omitted for the first slice") @RequestParam(value = "cursor", required = false) String cursor,
+                        @Parameter(description = "Number of records per slice, at most " + MAX_SCROLL_LIMIT, example = "10") @RequestParam(value = "limit", defaultValue = "10") int limit) {
+
+                // Validate parameters
+                if (limit < 1 || limit > MAX_SCROLL_LIMIT) {
+                        throw new UserServiceException(UserServiceException.UserErrorType.BAD_REQUEST);
+                }
+
+                // Retrieve the slice following the cursor
+                Slice<UserDto> userDtos = userService.getUsersAfter(UserCursor.decode(cursor), limit);
+
+                // Map DTOs to Response Models, the last id becomes the next cursor
+                List<UserRest> users = userDtos.stream()
+                                .map(mapper::userDtoToUserRest)
+                                .toList();
+                String next = userDtos.hasNext()
+                                ? UserCursor.encode(userDtos.getContent().get(userDtos.getNumberOfElements() - 1).id())
+                                : null;
+
+                // Return Response
+                return ResponseEntity.status(HttpStatus.OK)
+                                .body(new UserSliceRest(users, next));
+        }
+
+        @Operation(summary = "Export all users as NDJSON", description = "Stream every user profile in id order, one JSON document per line. Rows are written as they are read, so memory use does not grow with the number of users", security = @SecurityRequirement(name = "bearerAuth"))
+        @ApiResponses(value = {
+                        // Senario 1: Successful Export
+                        @ApiResponse(responseCode = "200", description = "User profiles streamed successfully"),
+                        // Senario 2: Error
+                        @ApiResponse(responseCode = "401", description = "Unauthorized (Invalid or missing authentication token)", content = @Content(schema = @Schema(implementation = ApiErrorResponse.class)))
+        })
+        @GetMapping(path = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+        public ResponseEntity<StreamingResponseBody> exportUsers() {
+
+                // Written on an async thread after this method returns; the service keeps its transaction open
+                // while the rows are written and the generator flushes to the response whenever its buffer fills
+                StreamingResponseBody body = outputStream -> {
+                        ObjectWriter writer = objectMapper.writerFor(UserRest.class)
+                                        .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+                        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                                generator.setRootValueSeparator(null);
+                                userService.forEachUser(userDto -> {
+                                        try {
+                                                writer.writeValue(generator, mapper.userDtoToUserRest(userDto));
+                                                generator.writeRaw('\n');
+                                        } catch (IOException e) {
+                                                throw new UncheckedIOException(e);
+                                        }
+                                });
+                        }
+                };
+
+                // Return Response
+                return ResponseEntity.status(HttpStatus.OK)
+                                .contentType(MediaType.APPLICATION_NDJSON)
+                                .body(body);
+        }
+
+        private List<UserImportResultRest> importRows(List<UserRequestModel> users) {
+
+                // Validate Row Count
+                if (users.size() > MAX_IMPORT_ROWS) {
+                        throw new UserServiceException(UserServiceException.UserErrorType.BAD_REQUEST);
+                }
+
+                // Validate every row, in parallel since rows are independent
+                List<List<String>> violations = users.parallelStream()
+                                .map(this::violationsOf)
+                                .toList();
+
+                // Import the valid rows
+                List<UserDto> validUsers = new ArrayList<>();
+                for (int i = 0; i < users.size(); i++) {
+                        if (violations.get(i).isEmpty()) {
+                                validUsers.add(mapper.userRequestModelToUserDto(users.get(i)));
+                        }
+                }
+                Iterator<UserImportResultDto> imported = userService.importUsers(validUsers).iterator();
+
+                // Map results back to row positions
+                List<UserImportResultRest> returnValue = new ArrayList<>(users.size());
+                for (int i = 0; i < users.size(); i++) {
+                        if (violations.get(i).isEmpty()) {
+                                UserImportResultDto result = imported.next();
+                                returnValue.add(new UserImportResultRest(i, result.status(), result.userId(), List.of()));
+                        } else {
+                                returnValue.add(new UserImportResultRest(i, UserImportStatus.INVALID, null, violations.get(i)));
+                        }
+                }
+                return returnValue;
+        }
+
+        private List<String> violationsOf(UserRequestModel user) {
+                if (user == null) {
+                        return List.of("row: must not be null");
+                }
+
+                return validator.validate(user).stream()
+                                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                                .sorted()
+                                .toList();
+        }
+
 }
\ No newline at end of file
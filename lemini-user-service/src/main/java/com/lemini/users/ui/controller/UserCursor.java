@@ -0,0 +1,40 @@
+package com.lemini.users.ui.controller;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+
+import com.lemini.users.exceptions.UserServiceException;
+
+// Cursors for GET /users/scroll: the internal id of the last user returned, base64url encoded so clients
+// treat it as opaque and the encoding can change without breaking them
+final class UserCursor {
+
+    static final long START = 0L; // Below every id the users sequence hands out
+
+    private UserCursor() {
+    }
+
+    static String encode(long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(ByteBuffer.allocate(Long.BYTES).putLong(lastId).array());
+    }
+
+    static long decode(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return START;
+        }
+
+        try {
+            byte[] bytes = Base64.getUrlDecoder().decode(cursor);
+            if (bytes.length == Long.BYTES) {
+                long lastId = ByteBuffer.wrap(bytes).getLong();
+                if (lastId >= START) {
+                    return lastId;
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            // Not base64url, reported below like any other malformed cursor
+        }
+        throw new UserServiceException(UserServiceException.UserErrorType.BAD_REQUEST);
+    }
+}
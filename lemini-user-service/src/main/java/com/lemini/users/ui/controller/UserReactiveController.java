@@ -0,0 +1,87 @@
+package com.lemini.users.ui.controller;
+
+import java.util.List;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.lemini.users.exceptions.UserServiceException;
+import com.lemini.users.service.ReactiveUserService;
+import com.lemini.users.ui.mapper.UserRestMapper;
+import com.lemini.users.ui.model.response.ApiErrorResponse;
+import com.lemini.users.ui.model.response.UserRest;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.AllArgsConstructor;
+import reactor.core.publisher.Mono;
+
+// The read endpoints of UserController on the reactive path. Returning a Mono hands the request to an async
+// dispatch, so no request thread waits while R2DBC talks to the database (with a non-blocking driver such as
+// r2dbc-mysql; r2dbc-h2 still executes on the subscribing thread)
+@RestController
+@RequestMapping("api/v1/reactive/users")
+@AllArgsConstructor
+@Tag(name = "User Reactive Controller", description = "Reads of user profiles over R2DBC")
+public class UserReactiveController {
+
+        private final ReactiveUserService userService;
+        private final UserRestMapper mapper;
+
+        @Operation(summary = "Get User info by public Id ", description = "Retrieve user profile information using the public user ID for logged in user, without holding a request thread during the database round trip when the R2DBC driver is non-blocking", security = @SecurityRequirement(name = "bearerAuth"))
+        @ApiResponses(value = {
+                        // Senario 1: Successful Retrieval
+                        @ApiResponse(responseCode = "200", description = "User profile retrieved successfully"),
+
+                        // Senario 2: Error
+                        @ApiResponse(responseCode = "404", description = "User Not Found", content = @Content(schema = @Schema(implementation = ApiErrorResponse.class))),
+
+                        @ApiResponse(responseCode = "401", description = "Unauthorized (Invalid or missing authentication token)", content = @Content(schema = @Schema(implementation = ApiErrorResponse.class)))
+        })
+        @GetMapping(path = "{userId}", produces = {
+                        MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE })
+        public Mono<ResponseEntity<UserRest>> getUser(
+                        @Parameter(description = "Public user ID", example = "user123") @PathVariable("userId") String userId) {
+
+                return userService.getUserByUserId(userId)
+                                .map(mapper::userDtoToUserRest)
+                                .map(user -> ResponseEntity.status(HttpStatus.OK).body(user));
+        }
+
+        @Operation(summary = "Get list of users with pagination", description = "Retrieve a paginated list of user profiles for logged in user, without holding a request thread during the database round trip when the R2DBC driver is non-blocking", security = @SecurityRequirement(name = "bearerAuth"))
+        @ApiResponses(value = {
+                        // Senario 1: Successful Retrieval
+                        @ApiResponse(responseCode = "200", description = "User profiles retrieved successfully"),
+                        // Senario 2: Error
+                        @ApiResponse(responseCode = "400", description = "Validation Error", content = @Content(schema = @Schema(implementation = ApiErrorResponse.class))),
+
+                        @ApiResponse(responseCode = "401", description = "Unauthorized (Invalid or missing authentication token)", content = @Content(schema = @Schema(implementation = ApiErrorResponse.class)))
+        })
+        @GetMapping(produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE })
+        public Mono<ResponseEntity<List<UserRest>>> getUsers(
+                        @Parameter(description = "Page number (starting from 1)", example = "1") @RequestParam(value = "page", defaultValue = "1") int page,
+                        @Parameter(description = "Number of records per page", example = "10") @RequestParam(value = "limit", defaultValue = "10") int limit) {
+
+                // Validate pagination parameters
+                if (page < 1 || limit < 1) {
+                        throw new UserServiceException(UserServiceException.UserErrorType.BAD_REQUEST);
+                }
+
+                return userService.getUsers(page, limit)
+                                .map(mapper::userDtoToUserRest)
+                                .collectList()
+                                .map(users -> ResponseEntity.status(HttpStatus.OK).body(users));
+        }
+}
@@ -4,6 +4,7 @@ import org.mapstruct.Mapper;
 import org.mapstruct.ReportingPolicy;
 
 import com.lemini.users.shared.dto.UserDto;
+import com.lemini.users.ui.model.request.PatchUserRequestModel;
 import com.lemini.users.ui.model.request.UpdateUserRequestModel;
 import com.lemini.users.ui.model.request.UserRequestModel;
 import com.lemini.users.ui.model.response.UserRest;
@@ -20,6 +21,9 @@ public interface UserRestMapper {
     //Update Request to DTO
     UserDto updateUserRequestModelToUserDto(UpdateUserRequestModel updateUserRequestModel);
 
+    //Patch Request to DTO, null fields stay null
+    UserDto patchUserRequestModelToUserDto(PatchUserRequestModel patchUserRequestModel);
+
     //Update DTO to Response
     UserRest updateUserDtoToUserRest(UserDto userDto);
     
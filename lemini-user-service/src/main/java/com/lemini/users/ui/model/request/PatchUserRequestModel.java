@@ -0,0 +1,18 @@
+package com.lemini.users.ui.model.request;
+
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+
+// Partial update: a missing (null) field keeps its stored value, a present one must be as valid as on PUT
+public record PatchUserRequestModel(
+
+    @Pattern(regexp = ".*\\S.*", message = "{validation.firstName.blank}")
+    @Size(min = 2, max = 50, message = "{validation.firstName.size}")
+    String firstName,
+
+    @Pattern(regexp = ".*\\S.*", message = "{validation.lastName.blank}")
+    @Size(min = 2, max = 50, message = "{validation.lastName.size}")
+    String lastName
+) {
+
+}
@@ -0,0 +1,10 @@
+package com.lemini.users.ui.model.response;
+
+import java.util.List;
+
+public record UserBulkDeleteRest(
+    int deleted,
+    List<String> notFound // Requested userIds that did not exist, nothing was deleted for them
+) {
+
+}
@@ -0,0 +1,14 @@
+package com.lemini.users.ui.model.response;
+
+import java.util.List;
+
+import com.lemini.users.shared.enums.UserImportStatus;
+
+public record UserImportResultRest(
+    int index, // Position of the row in the submitted list
+    UserImportStatus status,
+    String userId,
+    List<String> errors
+) {
+
+}
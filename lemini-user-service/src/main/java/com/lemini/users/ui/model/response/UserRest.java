@@ -2,11 +2,14 @@ package com.lemini.users.ui.model.response;
 
 import java.util.List;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 public record UserRest(
     String userId, // Public unique identifier
     String firstName,
     String lastName,
     String email,
+    @JsonInclude(JsonInclude.Include.NON_NULL) // Left out where they were not loaded (PATCH)
     List<AddressRest> addresses
 ) {
 
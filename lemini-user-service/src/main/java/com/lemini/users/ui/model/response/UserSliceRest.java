@@ -0,0 +1,10 @@
+package com.lemini.users.ui.model.response;
+
+import java.util.List;
+
+public record UserSliceRest(
+    List<UserRest> users,
+    String next // Opaque cursor for the following slice, null on the last one
+) {
+
+}
@@ -5,9 +5,10 @@ import jakarta.validation.ConstraintValidatorContext;
 
 public class EmailConstraintValidator implements ConstraintValidator<ValidEmail, String> {
 
+    private final EmailValidator validator = new EmailValidator(); // stateless, shared across calls
+
     @Override
     public boolean isValid(String email, ConstraintValidatorContext context) {
-        EmailValidator validator = new EmailValidator();
         return validator.test(email);
     }
 }
@@ -4,11 +4,66 @@ import java.util.function.Predicate;
 
 public class EmailValidator implements Predicate<String> {
 
+    private static final int MIN_TLD_LENGTH = 2;
+    private static final int MAX_TLD_LENGTH = 6;
+
+    // Single pass equivalent of ^[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\.[a-zA-Z]{2,6}$ without building a Pattern
     @Override
     public boolean test(String email) {
-        // Basic email validation regex
-        String emailRegex = "^[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,6}$";
-        return email != null && email.matches(emailRegex);
+        if (email == null) {
+            return false;
+        }
+
+        int at = email.indexOf('@');
+        if (at < 1) {
+            return false; // no '@' or empty local part
+        }
+        for (int i = 0; i < at; i++) {
+            if (!isLocalChar(email.charAt(i))) {
+                return false;
+            }
+        }
+
+        // The top level domain has no dots, so it starts after the last one
+        int lastDot = -1;
+        for (int i = at + 1; i < email.length(); i++) {
+            char c = email.charAt(i);
+            if (c == '.') {
+                lastDot = i;
+            } else if (!isDomainChar(c)) {
+                return false;
+            }
+        }
+        if (lastDot <= at + 1) {
+            return false; // no dot or nothing between '@' and it
+        }
+
+        int tldLength = email.length() - lastDot - 1;
+        if (tldLength < MIN_TLD_LENGTH || tldLength > MAX_TLD_LENGTH) {
+            return false;
+        }
+        for (int i = lastDot + 1; i < email.length(); i++) {
+            if (!isAsciiLetter(email.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isLocalChar(char c) {
+        return isAsciiLetter(c) || isAsciiDigit(c) || c == '.' || c == '_' || c == '%' || c == '+' || c == '-';
+    }
+
+    private static boolean isDomainChar(char c) {
+        return isAsciiLetter(c) || isAsciiDigit(c) || c == '.' || c == '-';
+    }
+
+    private static boolean isAsciiLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isAsciiDigit(char c) {
+        return c >= '0' && c <= '9';
     }
 
 }
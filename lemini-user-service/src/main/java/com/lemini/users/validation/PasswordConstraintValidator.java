@@ -4,9 +4,10 @@ import jakarta.validation.ConstraintValidator;
 
 public class PasswordConstraintValidator implements ConstraintValidator<ValidPassword, String> {
 
+    private final PasswordValidator validator = new PasswordValidator(); // stateless, shared across calls
+
     @Override
     public boolean isValid(String password, jakarta.validation.ConstraintValidatorContext context) {
-        PasswordValidator validator = new PasswordValidator();
         return validator.test(password);
     }
 
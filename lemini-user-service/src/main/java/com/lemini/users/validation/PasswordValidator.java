@@ -4,12 +4,39 @@ import java.util.function.Predicate;
 
 public class PasswordValidator implements Predicate<String> {
 
+    private static final int MIN_LENGTH = 8;
+    private static final String SPECIAL_CHARACTERS = "@$!%*?&";
+
+    // Password must be at least 8 characters long, contain at least one uppercase letter,
+    // one lowercase letter, one number, and one special character (@$!%*?&), and nothing else.
+    // One pass over the characters instead of ^(?=.*[a-z])(?=.*[A-Z])(?=.*\d)(?=.*[@$!%*?&])[A-Za-z\d@$!%*?&]{8,}$
     @Override
     public boolean test(String password) {
-        // Password must be at least 8 characters long, contain at least one uppercase letter,
-        // one lowercase letter, one number, and one special character
-        String passwordRegex = "^(?=.*[a-z])(?=.*[A-Z])(?=.*\\d)(?=.*[@$!%*?&])[A-Za-z\\d@$!%*?&]{8,}$";
-        return password != null && password.matches(passwordRegex);
+        if (password == null || password.length() < MIN_LENGTH) {
+            return false;
+        }
+
+        boolean lower = false;
+        boolean upper = false;
+        boolean digit = false;
+        boolean special = false;
+
+        for (int i = 0; i < password.length(); i++) {
+            char c = password.charAt(i);
+            if (c >= 'a' && c <= 'z') {
+                lower = true;
+            } else if (c >= 'A' && c <= 'Z') {
+                upper = true;
+            } else if (c >= '0' && c <= '9') {
+                digit = true;
+            } else if (SPECIAL_CHARACTERS.indexOf(c) >= 0) {
+                special = true;
+            } else {
+                return false;
+            }
+        }
+
+        return lower && upper && digit && special;
     }
 
 }
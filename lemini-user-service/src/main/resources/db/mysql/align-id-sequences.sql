@@ -0,0 +1,18 @@
+-- Run on a MySQL schema whose users and users_addresses rows were inserted with IDENTITY ids, before the first
+-- start with SEQUENCE ids. MySQL has no sequences: Hibernate emulates each with a one-row table, and ddl-auto
+-- would create it with next_val = 1, below the ids already stored, so the first inserts would collide with
+-- existing rows. This creates the tables itself (ddl-auto leaves existing ones alone) with next_val past max(id)
+-- by one allocation block (allocationSize = 50) plus one. Safe to run again, or after a start that already
+-- created the tables: it never moves a sequence backwards.
+
+CREATE TABLE IF NOT EXISTS users_seq (next_val BIGINT);
+INSERT INTO users_seq (next_val)
+    SELECT 1 FROM DUAL WHERE NOT EXISTS (SELECT 1 FROM users_seq);
+UPDATE users_seq
+    SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 51 FROM users));
+
+CREATE TABLE IF NOT EXISTS users_addresses_seq (next_val BIGINT);
+INSERT INTO users_addresses_seq (next_val)
+    SELECT 1 FROM DUAL WHERE NOT EXISTS (SELECT 1 FROM users_addresses_seq);
+UPDATE users_addresses_seq
+    SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 51 FROM users_addresses));
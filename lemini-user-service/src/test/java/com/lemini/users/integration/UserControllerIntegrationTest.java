@@ -15,11 +15,25 @@ import org.springframework.core.env.Environment;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MvcResult;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.lemini.users.io.entity.AddressEntity;
+import com.lemini.users.io.entity.AuthorityEntity;
+import com.lemini.users.io.entity.RoleEntity;
 import com.lemini.users.io.entity.UserEntity;
 import com.lemini.users.io.repository.UserRepository;
 import com.lemini.users.security.SecurityConstants;
@@ -45,6 +59,9 @@ public class UserControllerIntegrationTest {
         @Autowired
         private Environment env;
 
+        @Autowired
+        private PasswordEncoder passwordEncoder;
+
         @BeforeEach
         void setup() {
                 userRepository.deleteAll();
@@ -58,7 +75,6 @@ public class UserControllerIntegrationTest {
                 userEntity.setEmail("leila@example.com");
                 userEntity.setEncryptedPassword("hashed_password_here");
                 userEntity.setEmailVerificationStatus(true);
-                userEntity.setEmailVerificationToken("some_verification_token");
 
                 AddressEntity address = new AddressEntity();
                 address.setAddressId("12345");
@@ -122,6 +138,36 @@ public class UserControllerIntegrationTest {
                                 .andExpect(jsonPath("$.lastName").value("DaneshvarUpdated"));
         }
 
+        @Test
+        @DisplayName("PATCH /users/{id} - success: End-to-end partial update with security")
+        void patchUserProfile_Success() throws Exception {
+                mockMvc.perform(org.springframework.test.web.servlet.request.MockMvcRequestBuilders
+                                .patch("/api/v1/users/{userId}", userId)
+                                .header(SecurityConstants.HEADER_STRING, SecurityConstants.TOKEN_PREFIX + validToken)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"lastName\": \"DaneshvarPatched\"}")
+                                .accept(MediaType.APPLICATION_JSON))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.userId").value(userId))
+                                .andExpect(jsonPath("$.firstName").value("Leila"))
+                                .andExpect(jsonPath("$.lastName").value("DaneshvarPatched"))
+                                .andExpect(jsonPath("$.addresses").doesNotExist());
+
+                // Addresses are untouched by the partial update
+                assertEquals(1, userRepository.findByUserId(userId).orElseThrow().getAddresses().size());
+        }
+
+        @Test
+        @DisplayName("PATCH /users/{id} - 404: Unknown user")
+        void patchUserProfile_NotFound() throws Exception {
+                mockMvc.perform(org.springframework.test.web.servlet.request.MockMvcRequestBuilders
+                                .patch("/api/v1/users/{userId}", "no-such-user")
+                                .header(SecurityConstants.HEADER_STRING, SecurityConstants.TOKEN_PREFIX + validToken)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"lastName\": \"Nobody\"}"))
+                                .andExpect(status().isNotFound());
+        }
+
         @Test
         @DisplayName("DELETE /users/{id} - success: End-to-end deletion with security")
         void deleteUserProfile_Success() throws Exception {
@@ -149,4 +195,143 @@ public class UserControllerIntegrationTest {
                                 .andExpect(jsonPath("$[0].password").doesNotExist())
                                 .andExpect(jsonPath("$[0].encryptedPassword").doesNotExist());
         }
-}
\ No newline at end of file
+
+        @Test
+        @DisplayName("GET /users/export - success: End-to-end NDJSON export with security")
+        void exportUsers_Success() throws Exception {
+                MvcResult started = mockMvc.perform(get("/api/v1/users/export")
+                                .header(SecurityConstants.HEADER_STRING, SecurityConstants.TOKEN_PREFIX + validToken)
+                                .accept(MediaType.APPLICATION_NDJSON))
+                                .andExpect(request().asyncStarted())
+                                .andReturn();
+
+                String body = mockMvc.perform(asyncDispatch(started))
+                                .andExpect(status().isOk())
+                                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                                .andReturn().getResponse().getContentAsString();
+
+                // One document per line, each terminated by a newline
+                assertTrue(body.endsWith("\n"));
+                String[] lines = body.split("\n");
+                assertEquals(1, lines.length);
+                JsonNode user = new ObjectMapper().readTree(lines[0]);
+                assertEquals(userId, user.get("userId").asText());
+                assertEquals("Tehran", user.get("addresses").get(0).get("city").asText());
+                assertFalse(user.has("encryptedPassword"));
+        }
+
+        @Test
+        @DisplayName("POST /users/import - success: Per-row results for created, invalid and duplicate rows")
+        void importUsers_MixedRows() throws Exception {
+                String body = """
+                                [
+                                  {"firstName":"Bulk","lastName":"One","email":"bulk.one@example.com","password":"Password123!",
+                                   "addresses":[{"city":"Tehran","country":"Iran","streetName":"Some Street","postalCode":"12345","type":"HOME"}]},
+                                  {"firstName":"B","lastName":"Two","email":"not-an-email","password":"Password123!",
+                                   "addresses":[{"city":"Tehran","country":"Iran","streetName":"Some Street","postalCode":"12345","type":"HOME"}]},
+                                  {"firstName":"Bulk","lastName":"Three","email":"leila@example.com","password":"Password123!",
+                                   "addresses":[{"city":"Tehran","country":"Iran","streetName":"Some Street","postalCode":"12345","type":"HOME"}]}
+                                ]
+                                """;
+
+                mockMvc.perform(post("/api/v1/users/import")
+                                .header(SecurityConstants.HEADER_STRING, SecurityConstants.TOKEN_PREFIX + validToken)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(body)
+                                .accept(MediaType.APPLICATION_JSON))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$[0].status").value("CREATED"))
+                                .andExpect(jsonPath("$[0].userId").isString())
+                                .andExpect(jsonPath("$[1].index").value(1))
+                                .andExpect(jsonPath("$[1].status").value("INVALID"))
+                                .andExpect(jsonPath("$[1].errors.length()").value(2))
+                                .andExpect(jsonPath("$[2].status").value("DUPLICATE"));
+
+                assertTrue(userRepository.findByEmail("bulk.one@example.com").isPresent());
+        }
+
+        @Test
+        @DisplayName("POST /users/import - success: NDJSON file, one registration per line")
+        void importUsers_Ndjson() throws Exception {
+                String body = """
+                                {"firstName":"Line","lastName":"One","email":"line.one@example.com","password":"Password123!","addresses":[{"city":"Tehran","country":"Iran","streetName":"Some Street","postalCode":"12345","type":"HOME"}]}
+                                {"firstName":"Line","lastName":"Two","email":"line.two@example.com","password":"Password123!","addresses":[{"city":"Shiraz","country":"Iran","streetName":"Other Street","postalCode":"54321","type":"WORK"}]}
+                                """;
+
+                mockMvc.perform(post("/api/v1/users/import")
+                                .header(SecurityConstants.HEADER_STRING, SecurityConstants.TOKEN_PREFIX + validToken)
+                                .contentType(MediaType.APPLICATION_NDJSON)
+                                .content(body)
+                                .accept(MediaType.APPLICATION_JSON))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.length()").value(2))
+                                .andExpect(jsonPath("$[0].status").value("CREATED"))
+                                .andExpect(jsonPath("$[1].status").value("CREATED"));
+
+                assertEquals("Shiraz", userRepository.findByUserId(
+                                userRepository.findByEmail("line.two@example.com").orElseThrow().getUserId())
+                                .orElseThrow().getAddresses().get(0).getCity());
+        }
+
+        @Test
+        @DisplayName("POST /users/import - 403: Bulk import is not open like registration")
+        void importUsers_Unauthenticated() throws Exception {
+                mockMvc.perform(post("/api/v1/users/import")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("[]"))
+                                .andExpect(status().isForbidden());
+        }
+
+        @Test
+        @DisplayName("DELETE /users - 403: Bulk delete needs DELETE_AUTHORITY, not just a valid token")
+        void deleteUsers_WithoutAuthority() throws Exception {
+                mockMvc.perform(delete("/api/v1/users")
+                                .header(SecurityConstants.HEADER_STRING, SecurityConstants.TOKEN_PREFIX + validToken)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("[\"" + userId + "\"]"))
+                                .andExpect(status().isForbidden());
+
+                assertTrue(userRepository.findByUserId(userId).isPresent());
+        }
+
+        @Test
+        @DisplayName("DELETE /users - success: Authority granted through a role travels in the login token")
+        void deleteUsers_WithAuthorityFromRole() throws Exception {
+                AuthorityEntity authority = new AuthorityEntity();
+                authority.setName(SecurityConstants.DELETE_AUTHORITY);
+                RoleEntity role = new RoleEntity();
+                role.setName("ROLE_ADMIN");
+                role.setAuthorities(List.of(authority));
+
+                UserEntity admin = new UserEntity();
+                admin.setUserId("admin-456-def");
+                admin.setFirstName("Admin");
+                admin.setLastName("User");
+                admin.setEmail("admin@example.com");
+                admin.setEncryptedPassword(passwordEncoder.encode("Password123!"));
+                admin.setEmailVerificationStatus(true);
+                admin.setRoles(List.of(role));
+                userRepository.save(admin);
+
+                MvcResult login = mockMvc.perform(post("/users/login")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("""
+                                                {"email":"admin@example.com","password":"Password123!"}
+                                                """))
+                                .andExpect(status().isOk())
+                                .andReturn();
+                String adminToken = new ObjectMapper().readTree(login.getResponse().getContentAsString())
+                                .get("token").asText();
+
+                mockMvc.perform(delete("/api/v1/users")
+                                .header(SecurityConstants.HEADER_STRING, SecurityConstants.TOKEN_PREFIX + adminToken)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("[\"" + userId + "\", \"missing\"]")
+                                .accept(MediaType.APPLICATION_JSON))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.deleted").value(1))
+                                .andExpect(jsonPath("$.notFound[0]").value("missing"));
+
+                assertFalse(userRepository.findByUserId(userId).isPresent());
+        }
+}
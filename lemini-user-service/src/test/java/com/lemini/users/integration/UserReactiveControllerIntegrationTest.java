@@ -0,0 +1,151 @@
+package com.lemini.users.integration;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.env.Environment;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.lemini.users.io.entity.AddressEntity;
+import com.lemini.users.io.entity.UserEntity;
+import com.lemini.users.io.repository.UserRepository;
+import com.lemini.users.security.SecurityConstants;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+// The reactive read path answers from the same database JPA writes to, in the same shape as UserController
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class UserReactiveControllerIntegrationTest {
+
+        private static final String USER_ID = "reactive-user-id";
+
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Autowired
+        private UserRepository userRepository;
+
+        @Autowired
+        private Environment env;
+
+        private String validToken;
+
+        @BeforeEach
+        void setUp() {
+                userRepository.deleteAll();
+
+                UserEntity userEntity = newUser(USER_ID, "reactive@example.com");
+                AddressEntity home = newAddress(userEntity, "reactive-home", "HOME");
+                AddressEntity billing = newAddress(userEntity, "reactive-billing", "BILLING");
+                userEntity.setAddresses(List.of(home, billing));
+                userRepository.save(userEntity);
+                userRepository.save(newUser("reactive-other-id", "other@example.com"));
+
+                Instant now = Instant.now();
+                byte[] signingKey = Base64.getDecoder().decode(env.getProperty("app.security.tokenSecret"));
+                validToken = Jwts.builder()
+                                .subject(userEntity.getEmail())
+                                .issuedAt(Date.from(now))
+                                .expiration(Date.from(now.plusMillis(SecurityConstants.EXPIRATION_TIME)))
+                                .signWith(Keys.hmacShaKeyFor(signingKey), Jwts.SIG.HS512)
+                                .claim("userId", USER_ID)
+                                .compact();
+        }
+
+        @Test
+        void shouldReturnUserWithAddresses() throws Exception {
+                mockMvc.perform(asyncDispatch(started(get("/api/v1/reactive/users/{userId}", USER_ID))))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.userId").value(USER_ID))
+                                .andExpect(jsonPath("$.firstName").value("Reactive"))
+                                .andExpect(jsonPath("$.email").value("reactive@example.com"))
+                                .andExpect(jsonPath("$.addresses.length()").value(2))
+                                .andExpect(jsonPath("$.addresses[0].addressId").value("reactive-home"))
+                                .andExpect(jsonPath("$.addresses[1].type").value("BILLING"));
+        }
+
+        @Test
+        void shouldReturnNotFoundForUnknownUser() throws Exception {
+                mockMvc.perform(asyncDispatch(started(get("/api/v1/reactive/users/{userId}", "no-such-user"))))
+                                .andExpect(status().isNotFound());
+        }
+
+        @Test
+        void shouldPageUsersInIdOrder() throws Exception {
+                mockMvc.perform(asyncDispatch(started(get("/api/v1/reactive/users").param("page", "1").param("limit", "1"))))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.length()").value(1))
+                                .andExpect(jsonPath("$[0].userId").value(USER_ID))
+                                .andExpect(jsonPath("$[0].addresses.length()").value(2));
+
+                mockMvc.perform(asyncDispatch(started(get("/api/v1/reactive/users").param("page", "2").param("limit", "1"))))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.length()").value(1))
+                                .andExpect(jsonPath("$[0].userId").value("reactive-other-id"))
+                                .andExpect(jsonPath("$[0].addresses.length()").value(0));
+        }
+
+        @Test
+        void shouldRejectInvalidPage() throws Exception {
+                mockMvc.perform(get("/api/v1/reactive/users").param("page", "0")
+                                .header(SecurityConstants.HEADER_STRING, SecurityConstants.TOKEN_PREFIX + validToken))
+                                .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        void shouldRequireAuthentication() throws Exception {
+                mockMvc.perform(get("/api/v1/reactive/users/{userId}", USER_ID))
+                                .andExpect(status().isForbidden());
+        }
+
+        private MvcResult started(MockHttpServletRequestBuilder request) throws Exception {
+                return mockMvc.perform(request
+                                .header(SecurityConstants.HEADER_STRING, SecurityConstants.TOKEN_PREFIX + validToken)
+                                .accept(MediaType.APPLICATION_JSON))
+                                .andExpect(request().asyncStarted())
+                                .andReturn();
+        }
+
+        private static UserEntity newUser(String userId, String email) {
+                UserEntity userEntity = new UserEntity();
+                userEntity.setUserId(userId);
+                userEntity.setFirstName("Reactive");
+                userEntity.setLastName("User");
+                userEntity.setEmail(email);
+                userEntity.setEncryptedPassword("hashed_password_here");
+                userEntity.setEmailVerificationStatus(true);
+                return userEntity;
+        }
+
+        private static AddressEntity newAddress(UserEntity userEntity, String addressId, String type) {
+                AddressEntity address = new AddressEntity();
+                address.setAddressId(addressId);
+                address.setType(type);
+                address.setCity("Tehran");
+                address.setCountry("Iran");
+                address.setStreetName("Some Street");
+                address.setPostalCode("12345");
+                address.setUserProfile(userEntity);
+                return address;
+        }
+}
@@ -0,0 +1,131 @@
+package com.lemini.users.io.datasource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// Permits are re-entrant per thread, so a partition is saturated from another thread ("elsewhere")
+public class BulkheadDataSourceTest {
+
+    private DataSource target;
+    private SimpleMeterRegistry registry;
+    private BulkheadDataSource dataSource;
+    private final ExecutorService otherThread = Executors.newSingleThreadExecutor();
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        target = mock(DataSource.class);
+        when(target.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+
+        registry = new SimpleMeterRegistry();
+        WorkloadBulkheads bulkheads = new WorkloadBulkheads(2, 1, 1, Duration.ofMillis(50));
+        bulkheads.bindTo(registry);
+        dataSource = new BulkheadDataSource(target, bulkheads);
+    }
+
+    @AfterEach
+    void tearDown() {
+        otherThread.shutdownNow();
+    }
+
+    @Test
+    void shouldKeepAuthAvailableWhileBulkIsExhausted() throws Exception {
+        Connection bulk = elsewhere(WorkloadClass.BULK);
+
+        assertThrows(SQLTransientConnectionException.class, () -> as(WorkloadClass.BULK));
+        // Other classes draw on their own permits
+        as(WorkloadClass.AUTH).close();
+        dataSource.getConnection().close(); // CRUD by default
+
+        bulk.close();
+        as(WorkloadClass.BULK).close();
+        assertEquals(1, registry.get("db.bulkhead.rejected").tag("workload", "bulk").counter().count());
+    }
+
+    @Test
+    void shouldReleaseOnFirstCloseOnly() throws Exception {
+        Connection bulk = as(WorkloadClass.BULK);
+        bulk.close();
+        bulk.close();
+
+        Connection next = elsewhere(WorkloadClass.BULK);
+        assertThrows(SQLTransientConnectionException.class, () -> as(WorkloadClass.BULK));
+        next.close();
+    }
+
+    @Test
+    void shouldOpenNestedConnectionWhilePartitionIsSaturated() throws Exception {
+        Connection outer = as(WorkloadClass.BULK);
+        assertThrows(SQLTransientConnectionException.class, () -> elsewhere(WorkloadClass.BULK));
+
+        // The same thread again, as REQUIRES_NEW or a table-emulated sequence would: no wait on its own permit
+        long waits = registry.get("db.bulkhead.wait").tag("workload", "bulk").timer().count();
+        Connection nested = as(WorkloadClass.BULK);
+        assertEquals(waits, registry.get("db.bulkhead.wait").tag("workload", "bulk").timer().count());
+        assertEquals(1, registry.get("db.bulkhead.active").tag("workload", "bulk").gauge().value());
+
+        // The permit stays taken until the last of the thread's connections closes, whatever the order
+        outer.close();
+        assertThrows(SQLTransientConnectionException.class, () -> elsewhere(WorkloadClass.BULK));
+        nested.close();
+        elsewhere(WorkloadClass.BULK).close();
+        assertEquals(0, registry.get("db.bulkhead.active").tag("workload", "bulk").gauge().value());
+    }
+
+    @Test
+    void shouldReleaseWhenTargetFails() throws SQLException {
+        when(target.getConnection()).thenThrow(new SQLException("down"));
+        assertThrows(SQLException.class, () -> as(WorkloadClass.BULK));
+
+        doAnswer(invocation -> mock(Connection.class)).when(target).getConnection();
+        as(WorkloadClass.BULK).close();
+    }
+
+    @Test
+    void shouldRecordWaitTimePerClass() throws SQLException {
+        Connection bulk = as(WorkloadClass.BULK);
+        bulk.close();
+        verify(target, times(1)).getConnection();
+
+        assertEquals(1, registry.get("db.bulkhead.wait").tag("workload", "bulk").timer().count());
+        assertEquals(0, registry.get("db.bulkhead.wait").tag("workload", "auth").timer().count());
+        assertEquals(0, registry.get("db.bulkhead.active").tag("workload", "bulk").gauge().value());
+    }
+
+    private Connection elsewhere(WorkloadClass workload) throws Exception {
+        try {
+            return otherThread.submit(() -> as(workload)).get();
+        } catch (ExecutionException e) {
+            throw (Exception) e.getCause();
+        }
+    }
+
+    private Connection as(WorkloadClass workload) throws SQLException {
+        WorkloadClass previous = WorkloadContext.enter(workload);
+        try {
+            return dataSource.getConnection();
+        } finally {
+            WorkloadContext.restore(previous);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.lemini.users.io.datasource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import org.junit.jupiter.api.Test;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+// Only the MySQL driver gets useCursorFetch, and an explicit setting wins
+public class CursorFetchConfigTest {
+
+    @Test
+    void shouldEnableCursorFetchForMySql() {
+        HikariDataSource dataSource = dataSource("jdbc:mysql://db-host:3306/lemini_users");
+
+        CursorFetchConfig.enableCursorFetch(dataSource);
+
+        assertEquals("true", dataSource.getDataSourceProperties().getProperty(CursorFetchConfig.CURSOR_FETCH_PROPERTY));
+    }
+
+    @Test
+    void shouldLeaveOtherDriversAlone() {
+        HikariDataSource dataSource = dataSource("jdbc:h2:mem:testdb");
+
+        CursorFetchConfig.enableCursorFetch(dataSource);
+
+        assertFalse(dataSource.getDataSourceProperties().containsKey(CursorFetchConfig.CURSOR_FETCH_PROPERTY));
+    }
+
+    @Test
+    void shouldKeepAnExplicitSetting() {
+        HikariDataSource dataSource = dataSource("jdbc:mysql://db-host:3306/lemini_users");
+        dataSource.addDataSourceProperty(CursorFetchConfig.CURSOR_FETCH_PROPERTY, "false");
+
+        CursorFetchConfig.enableCursorFetch(dataSource);
+
+        assertEquals("false", dataSource.getDataSourceProperties().getProperty(CursorFetchConfig.CURSOR_FETCH_PROPERTY));
+    }
+
+    private static HikariDataSource dataSource(String url) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(url);
+        return dataSource;
+    }
+}
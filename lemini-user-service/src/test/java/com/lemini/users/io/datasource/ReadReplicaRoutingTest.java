@@ -0,0 +1,133 @@
+package com.lemini.users.io.datasource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.lemini.users.io.entity.UserEntity;
+import com.lemini.users.io.repository.UserRepository;
+import com.lemini.users.security.CustomUser;
+import com.lemini.users.service.UserService;
+import com.lemini.users.shared.dto.UserDto;
+
+// Two H2 databases stand in for primary and replica. The replica only sees what replicate() copies over,
+// so a read that finds a row written after the last copy was served by the primary
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary",
+        "app.datasource.replica.url=jdbc:h2:mem:routing-replica",
+        "app.datasource.replica.username=sa",
+        "app.datasource.replica.password=password",
+        "app.security.password-hashing.strength=4" })
+@ActiveProfiles("test")
+public class ReadReplicaRoutingTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    private JdbcTemplate primary;
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    void setUp() {
+        primary = new JdbcTemplate(primaryDataSource);
+        replica = new JdbcTemplate(replicaDataSource);
+
+        userRepository.deleteAll();
+        userRepository.save(user("replicated"));
+        replicate();
+
+        // Written after the copy: on the primary only
+        userRepository.save(user("unreplicated"));
+    }
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void shouldSendReadOnlyWorkToReplica() {
+        assertEquals(2, primary.queryForObject("select count(*) from users", Integer.class));
+
+        assertEquals(1, userRepository.count());
+        assertEquals(List.of("replicated"),
+                userService.getUsers(1, 10).stream().map(UserDto::userId).toList());
+        assertThrows(UsernameNotFoundException.class,
+                () -> userService.loadUserByUsername("unreplicated@example.com"));
+    }
+
+    @Test
+    void shouldReadOwnWritesFromPrimary() {
+        authenticateAs("replicated");
+        assertEquals(1, userService.getUsers(1, 10).size());
+
+        userService.patchUser("replicated", new UserDto(0, null, "Patched", null, null, null, null, null, null));
+
+        // The writer now reads the primary, everyone else still the replica
+        assertEquals(2, userService.getUsers(1, 10).size());
+        authenticateAs("someone-else");
+        assertEquals(1, userService.getUsers(1, 10).size());
+    }
+
+    @Test
+    void shouldLogInRightAfterRegistering() {
+        UserDto registered = userService.createUser(new UserDto(0, null, "New", "User", "new@example.com",
+                "Password1!", null, false, List.of()));
+
+        assertEquals(registered.userId(), ((CustomUser) userService.loadUserByUsername("new@example.com")).getUserId());
+        assertEquals(0, replica.queryForObject("select count(*) from users where email = 'new@example.com'",
+                Integer.class));
+    }
+
+    private void authenticateAs(String userId) {
+        UserDto principal = new UserDto(0L, userId, null, null, null, null, null, null, List.of());
+        SecurityContextHolder.getContext()
+                .setAuthentication(new UsernamePasswordAuthenticationToken(principal, null, List.of()));
+    }
+
+    // Brings the replica up to date with a full copy of the primary
+    private void replicate() {
+        List<String> script = primary.queryForList("script nopasswords nosettings", String.class);
+        replica.execute("drop all objects");
+        script.stream()
+                .filter(statement -> !statement.startsWith("CREATE USER"))
+                .forEach(replica::execute);
+    }
+
+    private static UserEntity user(String userId) {
+        UserEntity userEntity = new UserEntity();
+        userEntity.setUserId(userId);
+        userEntity.setFirstName("First");
+        userEntity.setLastName("Last");
+        userEntity.setEmail(userId + "@example.com");
+        userEntity.setEncryptedPassword("hashed_password_here");
+        userEntity.setAddresses(List.of());
+        return userEntity;
+    }
+}
@@ -0,0 +1,64 @@
+package com.lemini.users.io.datasource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.lemini.users.service.UserService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+// @Workload methods take their connections from their own bulkhead
+@SpringBootTest
+@ActiveProfiles("test")
+public class WorkloadBulkheadIntegrationTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void shouldGuardTheJpaDataSource() {
+        assertTrue(dataSource instanceof BulkheadDataSource);
+    }
+
+    @Test
+    void shouldCountListingAsBulk() {
+        long bulk = waits("bulk");
+        long crud = waits("crud");
+
+        userService.getUsers(1, 10);
+
+        assertTrue(waits("bulk") > bulk);
+        assertEquals(crud, waits("crud"));
+    }
+
+    @Test
+    void shouldCountLoginAsAuth() {
+        long auth = waits("auth");
+
+        assertThrows(UsernameNotFoundException.class,
+                () -> userService.loadUserByUsername(UUID.randomUUID() + "@example.com"));
+
+        assertTrue(waits("auth") > auth);
+    }
+
+    private long waits(String workload) {
+        return meterRegistry.get("db.bulkhead.wait").tag("workload", workload).timer().count();
+    }
+}
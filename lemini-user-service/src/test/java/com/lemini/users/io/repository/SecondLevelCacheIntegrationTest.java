@@ -0,0 +1,225 @@
+package com.lemini.users.io.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.env.Environment;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.lemini.users.io.entity.AddressEntity;
+import com.lemini.users.io.entity.UserEntity;
+import com.lemini.users.security.CustomUser;
+import com.lemini.users.security.SecurityConstants;
+import com.lemini.users.service.UserService;
+import com.lemini.users.shared.dto.UserDto;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+
+// Second-level cache: statements per authenticated GET /users/{userId} once the principal cache has let go
+// of the user (one join per GET without it), and invalidation on update and delete.
+// RecordingStatementInspector keeps the SQL Hibernate sends, to see which columns an UPDATE writes
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.lemini.users.io.repository.SecondLevelCacheIntegrationTest$RecordingStatementInspector" })
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class SecondLevelCacheIntegrationTest {
+
+    private static final String USER_ID = "l2-user-id";
+    private static final String EMAIL = "l2-user@example.com";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private Environment env;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Statistics statistics;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+        userRepository.save(user());
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        Instant now = Instant.now();
+        byte[] signingKey = Base64.getDecoder().decode(env.getProperty("app.security.tokenSecret"));
+        token = Jwts.builder()
+                .subject(EMAIL)
+                .issuedAt(Date.from(now))
+                .expiration(Date.from(now.plusMillis(SecurityConstants.EXPIRATION_TIME)))
+                .signWith(Keys.hmacShaKeyFor(signingKey), Jwts.SIG.HS512)
+                .claim("userId", USER_ID)
+                .compact();
+    }
+
+    @Test
+    void shouldServeRepeatedLookupsWithoutStatements() throws Exception {
+        // The save does not cache the users row (UserEntity is dynamic-update), so the first GET reads it and the
+        // addresses once
+        assertEquals(2, statementsForGet());
+        assertEquals(0, statementsForGet());
+        assertEquals(0, statementsForGet());
+    }
+
+    @Test
+    void shouldSeePatchedNamesAfterUpdate() throws Exception {
+        statementsForGet();
+
+        userService.patchUser(USER_ID, new UserDto(0, null, "Patched", null, null, null, null, null, null));
+
+        // The UPDATE evicted this row alone: one read brings it back, the addresses stay cached
+        long before = statistics.getPrepareStatementCount();
+        assertEquals("Patched", userService.getUserByUserId(USER_ID).firstName());
+        assertEquals(1, statistics.getPrepareStatementCount() - before);
+        assertEquals(0, statementsForGet());
+    }
+
+    @Test
+    void shouldPatchOnlyTheNameColumnsOfACachedUser() throws Exception {
+        statementsForGet();
+        // Changed behind the cache, as another instance would: the cached row still holds the old hash
+        jdbcTemplate.update("update users set encrypted_password = ? where user_id = ?", "newer_hash", USER_ID);
+        RecordingStatementInspector.STATEMENTS.clear();
+
+        userService.patchUser(USER_ID, new UserDto(0, null, "Patched", "Name", null, null, null, null, null));
+
+        List<String> updates = RecordingStatementInspector.STATEMENTS.stream()
+                .map(sql -> sql.replaceAll("\\s+", " ").trim().toLowerCase(Locale.ROOT))
+                .filter(sql -> sql.startsWith("update users "))
+                .toList();
+        assertEquals(1, updates.size(), updates.toString());
+        String setClause = updates.get(0).substring(updates.get(0).indexOf(" set ") + 5, updates.get(0).indexOf(" where "));
+        assertEquals("first_name=?,last_name=?", setClause.replace(" ", ""));
+        assertEquals("newer_hash", jdbcTemplate.queryForObject(
+                "select encrypted_password from users where user_id = ?", String.class, USER_ID));
+    }
+
+    @Test
+    void shouldForgetDeletedUsers() throws Exception {
+        statementsForGet();
+
+        userService.deleteUserByUserId(USER_ID);
+
+        mockMvc.perform(get("/api/v1/users/{userId}", USER_ID)
+                .header(SecurityConstants.HEADER_STRING, SecurityConstants.TOKEN_PREFIX + token)
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotFound());
+        assertTrue(userRepository.findByNaturalId(USER_ID).isEmpty());
+    }
+
+    @Test
+    void shouldAnswerRepeatedLoginLookupsFromQueryCache() {
+        userService.loadUserByUsername(EMAIL);
+        long before = statistics.getPrepareStatementCount();
+
+        assertEquals(USER_ID, ((CustomUser) userService.loadUserByUsername(EMAIL)).getUserId());
+        assertEquals(before, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void shouldExposeHitRatioPerRegion() throws Exception {
+        statementsForGet();
+        statementsForGet();
+
+        Gauge ratio = meterRegistry.get("cache.hit.ratio").tag("cache", UserEntity.CACHE_REGION).gauge();
+        assertTrue(ratio.value() > 0);
+        assertTrue(meterRegistry.get("cache.gets")
+                .tag("cache", UserEntity.ADDRESSES_CACHE_REGION)
+                .tag("result", "hit")
+                .functionCounter()
+                .count() > 0);
+    }
+
+    // Principal cache cleared first, so the lookup reaches Hibernate as it does after expireAfterWrite
+    private long statementsForGet() throws Exception {
+        cacheManager.getCache(SecurityConstants.PRINCIPAL_CACHE).clear();
+        long before = statistics.getPrepareStatementCount();
+
+        mockMvc.perform(get("/api/v1/users/{userId}", USER_ID)
+                .header(SecurityConstants.HEADER_STRING, SecurityConstants.TOKEN_PREFIX + token)
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        return statistics.getPrepareStatementCount() - before;
+    }
+
+    private static UserEntity user() {
+        UserEntity userEntity = new UserEntity();
+        userEntity.setUserId(USER_ID);
+        userEntity.setFirstName("Cached");
+        userEntity.setLastName("User");
+        userEntity.setEmail(EMAIL);
+        userEntity.setEncryptedPassword("hashed_password_here");
+        userEntity.setEmailVerificationStatus(true);
+
+        AddressEntity address = new AddressEntity();
+        address.setAddressId("l2-address-id");
+        address.setType("HOME");
+        address.setCity("Tehran");
+        address.setCountry("Iran");
+        address.setStreetName("Some Street");
+        address.setPostalCode("12345");
+        address.setUserProfile(userEntity);
+        userEntity.setAddresses(List.of(address));
+        return userEntity;
+    }
+
+    public static class RecordingStatementInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -1,10 +1,15 @@
 package com.lemini.users.security;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.util.List;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -12,6 +17,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
@@ -19,8 +25,12 @@ import org.springframework.test.web.servlet.MockMvc;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.lemini.users.io.entity.UserEntity;
 import com.lemini.users.io.repository.UserRepository;
+import com.lemini.users.service.UserService;
+import com.lemini.users.shared.dto.UserDto;
 import com.lemini.users.ui.model.request.UserLoginRequestModel;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
 @SpringBootTest
 @AutoConfigureMockMvc
 @ActiveProfiles("test")
@@ -35,6 +45,15 @@ public class AuthenticationIntegrationTest {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UnknownEmailCache unknownEmailCache;
+
     @BeforeEach
     void setUp() {
         userRepository.deleteAll();
@@ -61,6 +80,26 @@ public class AuthenticationIntegrationTest {
                 .andExpect(jsonPath("$.token").exists());
     }
 
+    @Test
+    void shouldRehashLegacyPasswordOnLogin() throws Exception {
+        // Stored before the algorithm prefix existed and with a lower cost than the current one
+        UserEntity user = userRepository.findByEmail("test@test.com").orElseThrow();
+        user.setEncryptedPassword(new BCryptPasswordEncoder(4).encode("Password123!"));
+        userRepository.save(user);
+
+        UserLoginRequestModel loginRequest = new UserLoginRequestModel("test@test.com", "Password123!");
+
+        mockMvc.perform(post("/users/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(new ObjectMapper().writeValueAsString(loginRequest)))
+                .andExpect(status().isOk());
+
+        String rehashed = userRepository.findByEmail("test@test.com").orElseThrow().getEncryptedPassword();
+        assertTrue(rehashed.startsWith("{" + PasswordEncoderConfig.BCRYPT_ID + "}"));
+        assertFalse(passwordEncoder.upgradeEncoding(rehashed));
+        assertTrue(passwordEncoder.matches("Password123!", rehashed));
+    }
+
     @Test
     void shouldFailLoginWithWrongPassword() throws Exception {
         UserLoginRequestModel loginRequest = new UserLoginRequestModel("test@test.com", "WrongPassword123!");
@@ -71,6 +110,61 @@ public class AuthenticationIntegrationTest {
                 .andExpect(status().isUnauthorized());
     }
 
+    @Test
+    void shouldRejectUnknownEmailLikeWrongPassword() throws Exception {
+        double hashesBefore = passwordChecks();
+        double unknownHitsBefore = unknownEmailHits();
+
+        for (int i = 0; i < 2; i++) {
+            UserLoginRequestModel loginRequest = new UserLoginRequestModel("nobody@test.com", "Password123!");
+
+            mockMvc.perform(post("/users/login")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(new ObjectMapper().writeValueAsString(loginRequest)))
+                    .andExpect(status().isUnauthorized());
+        }
+
+        // one dummy hash per attempt, the second attempt is answered without a query
+        assertEquals(2, passwordChecks() - hashesBefore);
+        assertEquals(1, unknownEmailHits() - unknownHitsBefore);
+    }
+
+    @Test
+    void shouldShareUnknownEmailEntryAcrossCaseAndClearItOnRegistration() throws Exception {
+        double unknownHitsBefore = unknownEmailHits();
+
+        assertEquals(401, login("New.Comer@Test.com", "Password123!"));
+        assertEquals(401, login("new.comer@test.com", "Password123!"));
+        assertEquals(1, unknownEmailHits() - unknownHitsBefore);
+
+        userService.createUser(new UserDto(0L, null, "New", "Comer", "NEW.COMER@test.com", "Password123!",
+                null, false, List.of()));
+
+        assertFalse(unknownEmailCache.isUnknown("new.comer@test.com"));
+        UserEntity registered = userRepository.findByEmail("new.comer@test.com").orElseThrow(); // stored normalized
+        registered.setEmailVerificationStatus(true);
+        userRepository.save(registered);
+        assertEquals(200, login("New.Comer@Test.com", "Password123!"));
+    }
+
+    @Test
+    void shouldLoginWithEmailInAnyCase() throws Exception {
+        assertEquals(200, login("Test@TEST.com", "Password123!"));
+    }
+
+    @Test
+    void shouldHashOnlyOncePerFailedLogin() throws Exception {
+        double hashesBefore = passwordChecks();
+        UserLoginRequestModel loginRequest = new UserLoginRequestModel("test@test.com", "WrongPassword123!");
+
+        mockMvc.perform(post("/users/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(new ObjectMapper().writeValueAsString(loginRequest)))
+                .andExpect(status().isUnauthorized());
+
+        assertEquals(1, passwordChecks() - hashesBefore);
+    }
+
     @Test
     void shouldFailLoginWithInvalidInput() throws Exception {
         // Invalid email format
@@ -81,4 +175,23 @@ public class AuthenticationIntegrationTest {
                 .content(new ObjectMapper().writeValueAsString(loginRequest)))
                 .andExpect(status().isBadRequest());
     }
+
+    private int login(String email, String password) throws Exception {
+        return mockMvc.perform(post("/users/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(new ObjectMapper().writeValueAsString(new UserLoginRequestModel(email, password))))
+                .andReturn().getResponse().getStatus();
+    }
+
+    private double passwordChecks() {
+        return meterRegistry.get("password.hashing.duration").tag("operation", "matches").timer().count();
+    }
+
+    private double unknownEmailHits() {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", UnknownEmailCache.CACHE_NAME)
+                .tag("result", "hit")
+                .functionCounter()
+                .count();
+    }
 }
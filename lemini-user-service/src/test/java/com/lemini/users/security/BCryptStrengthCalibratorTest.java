@@ -0,0 +1,31 @@
+package com.lemini.users.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+public class BCryptStrengthCalibratorTest {
+
+    @Test
+    void shouldDoubleStrengthWhileWithinTarget() {
+        // 50ms at 10 -> 100ms at 11 -> 200ms at 12 -> 400ms at 13
+        assertEquals(12, BCryptStrengthCalibrator.strengthFor(Duration.ofMillis(250), Duration.ofMillis(50), 10, 16));
+        assertEquals(13, BCryptStrengthCalibrator.strengthFor(Duration.ofMillis(400), Duration.ofMillis(50), 10, 16));
+    }
+
+    @Test
+    void shouldStayWithinBounds() {
+        assertEquals(10, BCryptStrengthCalibrator.strengthFor(Duration.ofMillis(10), Duration.ofMillis(50), 10, 16));
+        assertEquals(14, BCryptStrengthCalibrator.strengthFor(Duration.ofSeconds(60), Duration.ofMillis(1), 10, 14));
+    }
+
+    @Test
+    void shouldCalibrateOnCurrentHardware() {
+        int strength = BCryptStrengthCalibrator.calibrate(Duration.ofMillis(1), 4, 6);
+
+        assertTrue(strength >= 4 && strength <= 6);
+    }
+}
@@ -0,0 +1,101 @@
+package com.lemini.users.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.lemini.users.exceptions.UserServiceException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class BoundedPasswordEncoderTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    // Blocks until released so the single worker can be kept busy
+    private final PasswordEncoder slowEncoder = new PasswordEncoder() {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "hashed-" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encode(rawPassword).equals(encodedPassword);
+        }
+    };
+
+    private final BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(slowEncoder, 1, 1, registry);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        encoder.destroy();
+    }
+
+    @Test
+    void shouldHashOnWorkerAndRecordMetrics() {
+        release.countDown();
+
+        assertEquals("hashed-secret", encoder.encode("secret"));
+        assertTrue(encoder.matches("secret", "hashed-secret"));
+
+        assertEquals(1, registry.get("password.hashing.duration").tag("operation", "encode").timer().count());
+        assertEquals(1, registry.get("password.hashing.duration").tag("operation", "matches").timer().count());
+        assertEquals(2, registry.get("password.hashing.wait").timer().count());
+    }
+
+    @Test
+    void shouldEncodeAllInOrderWithoutFillingTheQueue() {
+        release.countDown();
+
+        // Five passwords through one worker and a queue of one: only possible if the batch waits its turn
+        assertEquals(List.of("hashed-a", "hashed-b", "hashed-c", "hashed-d", "hashed-e"),
+                encoder.encodeAll(List.of("a", "b", "c", "d", "e")));
+
+        assertEquals(0, registry.get("password.hashing.rejected").counter().count());
+        assertEquals(5, registry.get("password.hashing.duration").tag("operation", "encode").timer().count());
+    }
+
+    @Test
+    void shouldRejectWhenQueueIsFull() throws Exception {
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("first"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("second"));
+        awaitQueueLength(1);
+
+        UserServiceException ex = assertThrows(UserServiceException.class, () -> encoder.encode("third"));
+
+        assertEquals(UserServiceException.UserErrorType.SERVICE_UNAVAILABLE, ex.getErrorType());
+        assertEquals(1, registry.get("password.hashing.rejected").counter().count());
+
+        release.countDown();
+        assertEquals("hashed-first", running.get(5, TimeUnit.SECONDS));
+        assertEquals("hashed-second", queued.get(5, TimeUnit.SECONDS));
+    }
+
+    private void awaitQueueLength(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (registry.get("password.hashing.queue").gauge().value() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(expected, registry.get("password.hashing.queue").gauge().value());
+    }
+}
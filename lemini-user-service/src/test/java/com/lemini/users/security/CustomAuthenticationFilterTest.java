@@ -0,0 +1,159 @@
+package com.lemini.users.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+import com.lemini.users.exceptions.UserServiceException;
+import com.lemini.users.ui.model.response.AuthenticationResponseModel;
+
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+
+public class CustomAuthenticationFilterTest {
+
+    private static final String TOKEN_SECRET =
+            "M30vObsyV/T6el2QQuGQvZS6HfrzhyUfXiyWrun3sXy6uP+TGGvrN15HRJ5z12mBuR197uaXsZuvRpV6vIiZ6w==";
+    private static final String JSON_LOGIN = "{\"email\":\"test@test.com\",\"password\":\"Password123!\"}";
+    private static final String XML_LOGIN =
+            "<UserLoginRequestModel><email>test@test.com</email><password>Password123!</password></UserLoginRequestModel>";
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+    private TokenIssuer tokenIssuer;
+    private CustomAuthenticationFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        MockEnvironment environment = new MockEnvironment().withProperty("app.security.tokenSecret", TOKEN_SECRET);
+        tokenIssuer = new TokenIssuer(new SigningKeyRing(environment, event -> { }));
+
+        filter = newFilter(objectMapper, Jackson2ObjectMapperBuilder.xml().build());
+    }
+
+    @Test
+    void shouldLoginWithJson() throws Exception {
+        MockHttpServletResponse response = login(JSON_LOGIN, MediaType.APPLICATION_JSON_VALUE);
+
+        AuthenticationResponseModel body = objectMapper.readValue(response.getContentAsByteArray(),
+                AuthenticationResponseModel.class);
+        assertEquals("test-user-id", body.userId());
+        assertEquals(SecurityConstants.TOKEN_PREFIX + body.token(), response.getHeader(SecurityConstants.HEADER_STRING));
+    }
+
+    @Test
+    void shouldLoginWithXml() throws Exception {
+        MockHttpServletResponse response = login(XML_LOGIN, MediaType.APPLICATION_XML_VALUE);
+
+        assertEquals(MediaType.APPLICATION_XML_VALUE, response.getContentType());
+        assertTrue(response.getContentAsString().contains("<userId>test-user-id</userId>"));
+    }
+
+    @Test
+    void shouldHandOverloadToExceptionResolver() throws Exception {
+        List<Exception> resolved = new ArrayList<>();
+        CustomAuthenticationFilter busyFilter = new CustomAuthenticationFilter(
+                authentication -> {
+                    throw new UserServiceException(UserServiceException.UserErrorType.SERVICE_UNAVAILABLE);
+                },
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                (request, response, handler, ex) -> {
+                    resolved.add(ex);
+                    return null;
+                },
+                tokenIssuer,
+                objectMapper,
+                Jackson2ObjectMapperBuilder.xml().build());
+
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", SecurityConstants.SIGN_IN_URL);
+        request.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        request.setContent(JSON_LOGIN.getBytes(StandardCharsets.UTF_8));
+
+        assertNull(busyFilter.attemptAuthentication(request, new MockHttpServletResponse()));
+        assertEquals(UserServiceException.UserErrorType.SERVICE_UNAVAILABLE,
+                ((UserServiceException) resolved.get(0)).getErrorType());
+    }
+
+    @Test
+    void shouldAllocateFarLessThanBuildingMappersPerLogin() throws Exception {
+        // Baseline measured in the same run: what a login cost when every one built its own ObjectMapper pair
+        long perLoginWithFreshMappers = allocationPerLogin(() -> login(newFilter(
+                Jackson2ObjectMapperBuilder.json().build(), Jackson2ObjectMapperBuilder.xml().build()),
+                JSON_LOGIN, MediaType.APPLICATION_JSON_VALUE));
+        long perLogin = allocationPerLogin(() -> login(JSON_LOGIN, MediaType.APPLICATION_JSON_VALUE));
+
+        assertTrue(perLogin * 2 < perLoginWithFreshMappers,
+                "login allocated " + perLogin + " bytes, " + perLoginWithFreshMappers + " with fresh mappers");
+    }
+
+    private static long allocationPerLogin(ThrowingRunnable login) throws Exception {
+        int warmup = 200;
+        int iterations = 500;
+
+        for (int i = 0; i < warmup; i++) {
+            login.run();
+        }
+
+        long start = allocatedBytes();
+        for (int i = 0; i < iterations; i++) {
+            login.run();
+        }
+        return (allocatedBytes() - start) / iterations;
+    }
+
+    private CustomAuthenticationFilter newFilter(ObjectMapper jsonMapper, XmlMapper xmlMapper) {
+        CustomUser user = new CustomUser("test-user-id", "test@test.com", "", true, true, true, true, List.of());
+        return new CustomAuthenticationFilter(
+                authentication -> new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()),
+                validator,
+                (request, response, handler, ex) -> null,
+                tokenIssuer,
+                jsonMapper,
+                xmlMapper);
+    }
+
+    private MockHttpServletResponse login(String body, String mediaType) throws Exception {
+        return login(filter, body, mediaType);
+    }
+
+    private static MockHttpServletResponse login(CustomAuthenticationFilter filter, String body, String mediaType)
+            throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", SecurityConstants.SIGN_IN_URL);
+        request.setContentType(mediaType);
+        request.addHeader(HttpHeaders.ACCEPT, mediaType);
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        Authentication authentication = filter.attemptAuthentication(request, response);
+        filter.successfulAuthentication(request, response, null, authentication);
+        return response;
+    }
+
+    private interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+
+    @SuppressWarnings("deprecation")
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+                .getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+}
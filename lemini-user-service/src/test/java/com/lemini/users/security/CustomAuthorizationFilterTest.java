@@ -4,6 +4,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -26,6 +27,7 @@ import org.springframework.web.servlet.HandlerExceptionResolver;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.time.Duration;
 import java.util.List;
 
 import com.lemini.users.service.UserService;
@@ -56,6 +58,8 @@ public class CustomAuthorizationFilterTest {
     // @Qualifier("handlerExceptionResolver")
     private HandlerExceptionResolver handlerExceptionResolver;
 
+    private final RevokedUserDenylist denylist = new RevokedUserDenylist(Duration.ofMinutes(5), 100);
+
     private CustomAuthorizationFilter authorizationFilter;
 
     @RestController
@@ -70,7 +74,8 @@ public class CustomAuthorizationFilterTest {
     @BeforeEach
     void setUp() {
         // 1. Manually create the filter with mocks
-        authorizationFilter = new CustomAuthorizationFilter(userService, jwtParser, handlerExceptionResolver);
+        authorizationFilter = new CustomAuthorizationFilter(userService, new VerifiedTokenCache(jwtParser, 100), denylist,
+                AuthorizationMode.LOOKUP, handlerExceptionResolver);
 
         // 2. Build MockMvc with ONLY this filter
         mockMvc = MockMvcBuilders.standaloneSetup(new DummyController())
@@ -92,14 +97,14 @@ public class CustomAuthorizationFilterTest {
     void shouldAuthorizeWithValidToken() throws Exception {
         // 1. Mock the JWT parsing
         String mockToken = SecurityConstants.TOKEN_PREFIX + "valid.token";
-        Claims claims = Jwts.claims().subject("user-123").build();
+        Claims claims = Jwts.claims().subject("user-123").add("userId", "user-123").build();
         Jws<Claims> jws = mock(Jws.class);
 
         when(jwtParser.parseSignedClaims(anyString())).thenReturn(jws);
         when(jws.getPayload()).thenReturn(claims);
 
         // 2. Mock the User Service
-        UserDto userDto = new UserDto(0L, "user-123", "", "", "", "", "", "", true, List.of()); // fill other required
+        UserDto userDto = new UserDto(0L, "user-123", "", "", "", "", "", true, List.of()); // fill other required
                                                                                                 // fields as per your
                                                                                                 // record definition
         when(userService.getUserByUserId("user-123")).thenReturn(userDto);
@@ -126,4 +131,51 @@ public class CustomAuthorizationFilterTest {
         // Assuming your GlobalExceptionHandler maps INVALID_TOKEN to 401
     }
 
+    @Test
+    @DisplayName("Should authorize from claims alone in CLAIMS mode")
+    void shouldAuthorizeFromClaimsWithoutUserService() throws Exception {
+        MockMvc claimsMockMvc = claimsModeMockMvc();
+        Claims claims = Jwts.claims().subject("user@example.com")
+                .add("userId", "user-123")
+                .add("authorities", List.of("READ"))
+                .build();
+        Jws<Claims> jws = mock(Jws.class);
+
+        when(jwtParser.parseSignedClaims(anyString())).thenReturn(jws);
+        when(jws.getPayload()).thenReturn(claims);
+
+        claimsMockMvc.perform(get("/api/v1/users/{userId}", "user-123")
+                .header(SecurityConstants.HEADER_STRING, SecurityConstants.TOKEN_PREFIX + "valid.token"))
+                .andExpect(status().isOk());
+
+        verifyNoInteractions(userService);
+    }
+
+    @Test
+    @DisplayName("Should reject revoked userId in CLAIMS mode")
+    void shouldRejectRevokedUserInClaimsMode() throws Exception {
+        MockMvc claimsMockMvc = claimsModeMockMvc();
+        Claims claims = Jwts.claims().subject("user@example.com").add("userId", "user-123").build();
+        Jws<Claims> jws = mock(Jws.class);
+
+        when(jwtParser.parseSignedClaims(anyString())).thenReturn(jws);
+        when(jws.getPayload()).thenReturn(claims);
+        denylist.revoke("user-123");
+
+        claimsMockMvc.perform(get("/api/v1/users/{userId}", "user-123")
+                .header(SecurityConstants.HEADER_STRING, SecurityConstants.TOKEN_PREFIX + "valid.token"))
+                .andExpect(status().isUnauthorized());
+
+        verifyNoInteractions(userService);
+    }
+
+    private MockMvc claimsModeMockMvc() {
+        CustomAuthorizationFilter claimsFilter = new CustomAuthorizationFilter(userService, new VerifiedTokenCache(jwtParser, 100), denylist,
+                AuthorizationMode.CLAIMS, handlerExceptionResolver);
+        return MockMvcBuilders.standaloneSetup(new DummyController())
+                .addFilters(claimsFilter)
+                .setHandlerExceptionResolvers(handlerExceptionResolver)
+                .build();
+    }
+
 }
@@ -0,0 +1,162 @@
+package com.lemini.users.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.lemini.users.exceptions.UserServiceException;
+import com.lemini.users.io.datasource.WorkloadClass;
+import com.lemini.users.io.datasource.WorkloadContext;
+import com.lemini.users.io.entity.AddressEntity;
+import com.lemini.users.io.entity.UserEntity;
+import com.lemini.users.io.repository.UserRepository;
+import com.lemini.users.service.UserService;
+import com.lemini.users.shared.dto.UserDto;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+
+// Virtual-thread mode: principals load off the caller's thread, without losing its context or the single-flight load.
+// On runtimes without virtual threads the flag leaves the caches synchronous, and the same loads hold there.
+@SpringBootTest(properties = "spring.threads.virtual.enabled=true")
+@ActiveProfiles("test")
+public class PrincipalCacheConfigTest {
+
+    private static final String USER_ID = "async-principal-user-id";
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private CaffeineCache principalCache;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+        principalCache = (CaffeineCache) cacheManager.getCache(SecurityConstants.PRINCIPAL_CACHE);
+        principalCache.clear();
+
+        UserEntity userEntity = new UserEntity();
+        userEntity.setUserId(USER_ID);
+        userEntity.setFirstName("Async");
+        userEntity.setLastName("User");
+        userEntity.setEmail("async@example.com");
+        userEntity.setEncryptedPassword("hashed_password_here");
+        userEntity.setEmailVerificationStatus(true);
+
+        AddressEntity address = new AddressEntity();
+        address.setAddressId("async-address-id");
+        address.setType("HOME");
+        address.setCity("Tehran");
+        address.setCountry("Iran");
+        address.setStreetName("Some Street");
+        address.setPostalCode("12345");
+        address.setUserProfile(userEntity);
+        userEntity.setAddresses(List.of(address));
+
+        userRepository.save(userEntity);
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        principalCache.clear();
+    }
+
+    @Test
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    void shouldUseAsyncCache() {
+        assertNotNull(principalCache.getAsyncCache());
+    }
+
+    @Test
+    @EnabledForJreRange(max = JRE.JAVA_20)
+    void shouldStaySynchronousWithoutVirtualThreads() {
+        // no loader threads to start per miss
+        assertThrows(IllegalStateException.class, principalCache::getAsyncCache);
+    }
+
+    @Test
+    void shouldLoadWithinItsOwnTransaction() {
+        UserDto user = userService.getUserByUserId(USER_ID);
+
+        // addresses are a lazy collection, mapped inside the transaction on the loading thread
+        assertEquals(1, user.addresses().size());
+    }
+
+    @Test
+    void shouldLoadInTheCallersWorkload() {
+        long auth = waits("auth");
+        long crud = waits("crud");
+
+        WorkloadContext.callAs(WorkloadClass.AUTH, () -> userService.getUserByUserId(USER_ID));
+
+        assertTrue(waits("auth") > auth);
+        assertEquals(crud, waits("crud"));
+    }
+
+    @Test
+    void shouldShareOneLoadBetweenConcurrentMisses() throws Exception {
+        int callers = 8;
+        long misses = principalCache.getNativeCache().stats().missCount();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<UserDto>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return userService.getUserByUserId(USER_ID);
+                }));
+            }
+            start.countDown();
+            for (Future<UserDto> result : results) {
+                assertEquals(USER_ID, result.get().userId());
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(1, principalCache.getNativeCache().stats().missCount() - misses);
+    }
+
+    @Test
+    void shouldNotCacheUnknownUsers() {
+        assertThrows(UserServiceException.class, () -> userService.getUserByUserId("no-such-user"));
+        assertEquals(null, principalCache.get("no-such-user"));
+    }
+
+    private long waits(String workload) {
+        return meterRegistry.get("db.bulkhead.wait").tag("workload", workload).timer().count();
+    }
+}
@@ -0,0 +1,152 @@
+package com.lemini.users.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.env.Environment;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.lemini.users.io.entity.AddressEntity;
+import com.lemini.users.io.entity.UserEntity;
+import com.lemini.users.io.repository.UserRepository;
+import com.lemini.users.service.UserService;
+import com.lemini.users.shared.dto.UserDto;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class PrincipalCacheIntegrationTest {
+
+    private static final String USER_ID = "cached-user-id";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private Environment env;
+
+    private Cache principalCache;
+    private String validToken;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+        principalCache = cacheManager.getCache(SecurityConstants.PRINCIPAL_CACHE);
+        principalCache.clear();
+
+        UserEntity userEntity = new UserEntity();
+        userEntity.setUserId(USER_ID);
+        userEntity.setFirstName("Cached");
+        userEntity.setLastName("User");
+        userEntity.setEmail("cached@example.com");
+        userEntity.setEncryptedPassword("hashed_password_here");
+        userEntity.setEmailVerificationStatus(true);
+
+        AddressEntity address = new AddressEntity();
+        address.setAddressId("cached-address-id");
+        address.setType("HOME");
+        address.setCity("Tehran");
+        address.setCountry("Iran");
+        address.setStreetName("Some Street");
+        address.setPostalCode("12345");
+        address.setUserProfile(userEntity);
+        userEntity.setAddresses(List.of(address));
+
+        userRepository.save(userEntity);
+
+        Instant now = Instant.now();
+        byte[] signingKey = Base64.getDecoder().decode(env.getProperty("app.security.tokenSecret"));
+        validToken = Jwts.builder()
+                .subject(userEntity.getEmail())
+                .issuedAt(Date.from(now))
+                .expiration(Date.from(now.plusMillis(SecurityConstants.EXPIRATION_TIME)))
+                .signWith(Keys.hmacShaKeyFor(signingKey), Jwts.SIG.HS512)
+                .claim("userId", USER_ID)
+                .compact();
+    }
+
+    @Test
+    void shouldServeRepeatedAuthorizationFromCache() throws Exception {
+        double hitsBefore = cacheHits();
+
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(get("/api/v1/users/{userId}", USER_ID)
+                    .header(SecurityConstants.HEADER_STRING, SecurityConstants.TOKEN_PREFIX + validToken)
+                    .accept(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk());
+        }
+
+        // filter + controller per request, only the very first lookup misses
+        assertEquals(5, cacheHits() - hitsBefore);
+        assertNotNull(principalCache.get(USER_ID));
+    }
+
+    @Test
+    void shouldEvictOnUpdate() {
+        userService.getUserByUserId(USER_ID);
+        assertNotNull(principalCache.get(USER_ID));
+
+        userService.updateUserDto(USER_ID,
+                new UserDto(0L, USER_ID, "Renamed", "User", null, null, null, null, null));
+
+        assertNull(principalCache.get(USER_ID));
+        assertEquals("Renamed", userService.getUserByUserId(USER_ID).firstName());
+    }
+
+    @Test
+    void shouldStopAuthenticatingDeletedUser() throws Exception {
+        mockMvc.perform(get("/api/v1/users/{userId}", USER_ID)
+                .header(SecurityConstants.HEADER_STRING, SecurityConstants.TOKEN_PREFIX + validToken)
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        userService.deleteUserByUserId(USER_ID);
+        assertNull(principalCache.get(USER_ID));
+
+        mockMvc.perform(get("/api/v1/users/{userId}", USER_ID)
+                .header(SecurityConstants.HEADER_STRING, SecurityConstants.TOKEN_PREFIX + validToken)
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotFound());
+    }
+
+    private double cacheHits() {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", SecurityConstants.PRINCIPAL_CACHE)
+                .tag("result", "hit")
+                .functionCounter()
+                .count();
+    }
+}
@@ -0,0 +1,103 @@
+package com.lemini.users.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.env.MockPropertySource;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+public class TokenIssuerTest {
+
+    private static final CustomUser USER =
+            new CustomUser("user-123", "user@example.com", "", true, true, true, true, List.of());
+
+    private final List<Object> publishedEvents = new ArrayList<>();
+
+    private MockEnvironment environment;
+    private SigningKeyRing signingKeyRing;
+    private TokenIssuer tokenIssuer;
+    private JwtParser jwtParser;
+
+    @BeforeEach
+    void setUp() {
+        environment = new MockEnvironment()
+                .withProperty("app.security.signing.active-key-id", "k1")
+                .withProperty("app.security.signing.keys.k1", newSecret());
+
+        signingKeyRing = new SigningKeyRing(environment, publishedEvents::add);
+        tokenIssuer = new TokenIssuer(signingKeyRing);
+        jwtParser = Jwts.parser().keyLocator(signingKeyRing).build();
+    }
+
+    @Test
+    void shouldIssueAccessTokenWithKeyIdAndClaims() {
+        Jws<Claims> jws = jwtParser.parseSignedClaims(tokenIssuer.issueAccessToken(USER));
+
+        assertEquals("k1", jws.getHeader().getKeyId());
+        assertEquals("user@example.com", jws.getPayload().getSubject());
+        assertEquals("user-123", jws.getPayload().get(SecurityConstants.USER_ID_CLAIM, String.class));
+    }
+
+    @Test
+    void shouldKeepVerifyingOldKeyAfterRotation() {
+        String oldToken = tokenIssuer.issueAccessToken(USER);
+
+        environment.setProperty("app.security.signing.keys.k2", newSecret());
+        environment.setProperty("app.security.signing.active-key-id", "k2");
+        signingKeyRing.reload();
+
+        String newToken = tokenIssuer.issueAccessToken(USER);
+
+        assertEquals("k2", jwtParser.parseSignedClaims(newToken).getHeader().getKeyId());
+        assertEquals("k1", jwtParser.parseSignedClaims(oldToken).getHeader().getKeyId());
+        assertTrue(publishedEvents.isEmpty());
+    }
+
+    @Test
+    void shouldRejectTokensOfRetiredKey() {
+        String oldToken = tokenIssuer.issueAccessToken(USER);
+
+        environment.setProperty("app.security.signing.keys.k2", newSecret());
+        environment.setProperty("app.security.signing.active-key-id", "k2");
+        ((MockPropertySource) environment.getPropertySources()
+                .get(MockPropertySource.MOCK_PROPERTIES_PROPERTY_SOURCE_NAME))
+                .getSource().remove("app.security.signing.keys.k1");
+        signingKeyRing.reload();
+
+        assertThrows(JwtException.class, () -> jwtParser.parseSignedClaims(oldToken));
+        assertEquals(Set.of("k1"), ((SigningKeysRetiredEvent) publishedEvents.get(0)).getKeyIds());
+    }
+
+    @Test
+    void shouldVerifyTokensWithoutKeyIdWithTheTokenSecret() {
+        String tokenSecret = newSecret();
+        environment.setProperty("app.security.tokenSecret", tokenSecret);
+        signingKeyRing.reload();
+
+        String legacyToken = Jwts.builder()
+                .subject("user-123")
+                .signWith(Keys.hmacShaKeyFor(Base64.getDecoder().decode(tokenSecret)), Jwts.SIG.HS512)
+                .compact();
+
+        assertEquals("user-123", jwtParser.parseSignedClaims(legacyToken).getPayload().getSubject());
+    }
+
+    private static String newSecret() {
+        return Base64.getEncoder().encodeToString(Jwts.SIG.HS512.key().build().getEncoded());
+    }
+}
@@ -0,0 +1,89 @@
+package com.lemini.users.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.Date;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+public class VerifiedTokenCacheTest {
+
+    @Mock
+    private JwtParser jwtParser;
+
+    @Test
+    void shouldVerifyTokenOnlyOnceUntilItExpires() {
+        stubParser(Jwts.claims().add("userId", "user-123")
+                .expiration(Date.from(Instant.now().plusSeconds(60))).build());
+        VerifiedTokenCache tokenCache = new VerifiedTokenCache(jwtParser, 100);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals("user-123", tokenCache.parse("header.payload.signature").get("userId", String.class));
+        }
+
+        verify(jwtParser, times(1)).parseSignedClaims(anyString());
+    }
+
+    @Test
+    void shouldNotCacheTokensWithoutExpiration() {
+        stubParser(Jwts.claims().add("userId", "user-123").build());
+        VerifiedTokenCache tokenCache = new VerifiedTokenCache(jwtParser, 100);
+
+        tokenCache.parse("header.payload.signature");
+        tokenCache.parse("header.payload.signature");
+
+        verify(jwtParser, times(2)).parseSignedClaims(anyString());
+    }
+
+    @Test
+    void shouldNotCacheRejectedTokens() {
+        when(jwtParser.parseSignedClaims(anyString())).thenThrow(new SignatureException("bad signature"));
+        VerifiedTokenCache tokenCache = new VerifiedTokenCache(jwtParser, 100);
+
+        assertThrows(SignatureException.class, () -> tokenCache.parse("forged.token"));
+        assertThrows(SignatureException.class, () -> tokenCache.parse("forged.token"));
+
+        verify(jwtParser, times(2)).parseSignedClaims(anyString());
+    }
+
+    @Test
+    void shouldExposeHitAndMissMetrics() {
+        stubParser(Jwts.claims().expiration(Date.from(Instant.now().plusSeconds(60))).build());
+        VerifiedTokenCache tokenCache = new VerifiedTokenCache(jwtParser, 100);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        tokenCache.bindTo(registry);
+
+        tokenCache.parse("header.payload.signature");
+        tokenCache.parse("header.payload.signature");
+
+        assertEquals(1, registry.get("cache.gets").tag("cache", VerifiedTokenCache.CACHE_NAME)
+                .tag("result", "hit").functionCounter().count());
+        assertEquals(1, registry.get("cache.gets").tag("cache", VerifiedTokenCache.CACHE_NAME)
+                .tag("result", "miss").functionCounter().count());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubParser(Claims claims) {
+        Jws<Claims> jws = mock(Jws.class);
+        when(jwtParser.parseSignedClaims(anyString())).thenReturn(jws);
+        when(jws.getPayload()).thenReturn(claims);
+    }
+}
@@ -0,0 +1,129 @@
+package com.lemini.users.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.lemini.users.exceptions.UserServiceException;
+import com.lemini.users.io.entity.EmailVerificationTokenEntity;
+import com.lemini.users.io.entity.UserEntity;
+import com.lemini.users.io.repository.EmailVerificationTokenRepository;
+import com.lemini.users.io.repository.UserRepository;
+import com.lemini.users.service.EmailVerificationService;
+import com.lemini.users.service.UserService;
+import com.lemini.users.shared.dto.UserDto;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class EmailVerificationServiceImplTest {
+
+    private static final String USER_ID = "unverified-user-id";
+
+    @Autowired
+    private EmailVerificationService emailVerificationService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EmailVerificationTokenRepository tokenRepository;
+
+    @BeforeEach
+    void setUp() {
+        tokenRepository.deleteAll();
+        userRepository.deleteAll();
+
+        UserEntity userEntity = new UserEntity();
+        userEntity.setUserId(USER_ID);
+        userEntity.setFirstName("Unverified");
+        userEntity.setLastName("User");
+        userEntity.setEmail("unverified@example.com");
+        userEntity.setEncryptedPassword("hashed_password_here");
+        userEntity.setEmailVerificationStatus(false);
+        userEntity.setAddresses(List.of());
+        userRepository.save(userEntity);
+    }
+
+    @Test
+    void shouldVerifyEmailOnceWithIssuedToken() {
+        String token = emailVerificationService.issueToken(USER_ID);
+
+        assertEquals(EmailVerificationServiceImpl.TOKEN_LENGTH, token.length());
+        assertTrue(emailVerificationService.verifyEmail(token).emailVerificationStatus());
+        assertTrue(userRepository.findByUserId(USER_ID).orElseThrow().getEmailVerificationStatus());
+        assertEquals(0, tokenRepository.count());
+
+        assertInvalid(token);
+    }
+
+    @Test
+    void shouldIssueTokenAtRegistrationThatVerifiesTheNewUser() {
+        UserDto registered = userService.createUser(new UserDto(0L, null, "New", "User", "new.user@example.com",
+                "Password123!", null, false, List.of()));
+
+        EmailVerificationTokenEntity issued = tokenRepository.findAll().iterator().next();
+        assertEquals(1, tokenRepository.count());
+        assertEquals(userRepository.findByUserId(registered.userId()).orElseThrow().getId(), issued.getUser().getId());
+        assertEquals(EmailVerificationServiceImpl.TOKEN_LENGTH, issued.getToken().length());
+
+        assertTrue(emailVerificationService.verifyEmail(issued.getToken()).emailVerificationStatus());
+        assertTrue(userRepository.findByUserId(registered.userId()).orElseThrow().getEmailVerificationStatus());
+        assertEquals(0, tokenRepository.count());
+    }
+
+    @Test
+    void shouldNotIssueTokenForVerifiedUser() {
+        emailVerificationService.verifyEmail(emailVerificationService.issueToken(USER_ID));
+
+        UserServiceException ex = assertThrows(UserServiceException.class,
+                () -> emailVerificationService.issueToken(USER_ID));
+        assertEquals(UserServiceException.UserErrorType.BAD_REQUEST, ex.getErrorType());
+    }
+
+    @Test
+    void shouldOnlyAcceptLatestToken() {
+        String first = emailVerificationService.issueToken(USER_ID);
+        String second = emailVerificationService.issueToken(USER_ID);
+
+        assertInvalid(first);
+        assertTrue(emailVerificationService.verifyEmail(second).emailVerificationStatus());
+    }
+
+    @Test
+    void shouldRejectExpiredToken() {
+        String token = emailVerificationService.issueToken(USER_ID);
+        tokenRepository.findByToken(token).ifPresent(entity -> {
+            entity.setExpiresAt(Instant.now().minusSeconds(1));
+            tokenRepository.save(entity);
+        });
+
+        assertInvalid(token);
+    }
+
+    @Test
+    void shouldDropTokensWithTheirUser() {
+        emailVerificationService.issueToken(USER_ID);
+
+        userService.deleteUserByUserId(USER_ID);
+
+        assertEquals(0, tokenRepository.count());
+    }
+
+    private void assertInvalid(String token) {
+        UserServiceException ex = assertThrows(UserServiceException.class,
+                () -> emailVerificationService.verifyEmail(token));
+        assertEquals(UserServiceException.UserErrorType.INVALID_TOKEN, ex.getErrorType());
+    }
+}
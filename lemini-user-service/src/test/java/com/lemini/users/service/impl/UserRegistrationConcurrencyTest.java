@@ -0,0 +1,161 @@
+package com.lemini.users.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.lemini.users.exceptions.UserServiceException;
+import com.lemini.users.io.datasource.ReadYourWritesWindow;
+import com.lemini.users.io.mapper.UserEntityMapper;
+import com.lemini.users.io.repository.UserRepository;
+import com.lemini.users.security.BoundedPasswordEncoder;
+import com.lemini.users.security.RevokedUserDenylist;
+import com.lemini.users.security.UnknownEmailCache;
+import com.lemini.users.service.EmailVerificationService;
+import com.lemini.users.service.UserService;
+import com.lemini.users.shared.Utils;
+import com.lemini.users.shared.dto.AddressDto;
+import com.lemini.users.shared.dto.UserDto;
+import com.lemini.users.shared.dto.UserImportResultDto;
+import com.lemini.users.shared.enums.UserImportStatus;
+
+import jakarta.persistence.EntityManager;
+
+// Same properties as UserServiceImplQueryCountTest so both share one application context
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "app.security.password-hashing.strength=4" })
+@ActiveProfiles("test")
+public class UserRegistrationConcurrencyTest {
+
+    private static final int REGISTRATIONS = 8;
+    private static final String EMAIL = "racer@example.com";
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserEntityMapper userMapper;
+
+    @Autowired
+    private Utils utils;
+
+    @Autowired
+    private RevokedUserDenylist revokedUserDenylist;
+
+    @Autowired
+    private UnknownEmailCache unknownEmailCache;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ReadYourWritesWindow readYourWrites;
+
+    @Autowired
+    private EmailVerificationService emailVerificationService;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(REGISTRATIONS);
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void shouldCreateExactlyOneUserFromParallelDuplicateRegistrations() throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<String>> outcomes = new ArrayList<>();
+        for (int i = 0; i < REGISTRATIONS; i++) {
+            UserDto registration = registration(i);
+            outcomes.add(executor.submit(() -> {
+                start.await();
+                try {
+                    return userService.createUser(registration).userId();
+                } catch (UserServiceException e) {
+                    return e.getErrorType().name();
+                }
+            }));
+        }
+
+        start.countDown();
+
+        List<String> created = new ArrayList<>();
+        int conflicts = 0;
+        for (Future<String> outcome : outcomes) {
+            String result = outcome.get(30, TimeUnit.SECONDS);
+            if (UserServiceException.UserErrorType.EMAIL_ALREADY_EXISTS.name().equals(result)) {
+                conflicts++;
+            } else {
+                created.add(result);
+            }
+        }
+
+        assertEquals(1, created.size());
+        assertEquals(REGISTRATIONS - 1, conflicts);
+        assertEquals(1, userRepository.count());
+        // Rejected registrations leave nothing behind, not even their addresses
+        assertEquals(1, userRepository.findByUserId(created.get(0)).orElseThrow().getAddresses().size());
+    }
+
+    @Test
+    void shouldReportImportRowsRegisteredAfterTheDuplicateCheckAsDuplicates() {
+        // The racing registration commits while the import hashes, after its duplicate check and before its insert
+        BoundedPasswordEncoder racingEncoder = mock(BoundedPasswordEncoder.class);
+        when(racingEncoder.encode("Password123!")).thenReturn("hashed_password_here");
+        when(racingEncoder.encodeAll(anyList())).thenAnswer(invocation -> {
+            userService.createUser(registration(0));
+            return invocation.<List<String>>getArgument(0).stream().map(password -> "hashed_" + password).toList();
+        });
+        UserService importing = new UserServiceImpl(userRepository, userMapper, utils, racingEncoder,
+                revokedUserDenylist, unknownEmailCache, entityManager, transactionTemplate, cacheManager, readYourWrites,
+                emailVerificationService);
+
+        UserDto other = new UserDto(0, null, "Other", "Lastname", "other@example.com", "Password123!", null, false,
+                List.of(new AddressDto(0, null, "Street", "City", "Country", "12345", "HOME")));
+        List<UserImportResultDto> results = importing.importUsers(List.of(other, registration(1)));
+
+        assertEquals(UserImportStatus.CREATED, results.get(0).status());
+        assertEquals(UserImportStatus.DUPLICATE, results.get(1).status());
+        assertEquals(2, userRepository.count());
+        assertEquals(1, userRepository.findByUserId(results.get(0).userId()).orElseThrow().getAddresses().size());
+        assertEquals("Racer0", userRepository.findByEmail(EMAIL).orElseThrow().getFirstName());
+    }
+
+    private static UserDto registration(int i) {
+        return new UserDto(0, null, "Racer" + i, "Lastname", EMAIL, "Password123!", null, false,
+                List.of(new AddressDto(0, null, "Street " + i, "City", "Country", "12345", "HOME")));
+    }
+}
@@ -0,0 +1,316 @@
+package com.lemini.users.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.lemini.users.io.entity.AddressEntity;
+import com.lemini.users.io.entity.RoleEntity;
+import com.lemini.users.io.entity.UserEntity;
+import com.lemini.users.io.repository.UserRepository;
+import com.lemini.users.security.RevokedUserDenylist;
+import com.lemini.users.security.SecurityConstants;
+import com.lemini.users.security.UnknownEmailCache;
+import com.lemini.users.service.UserService;
+import com.lemini.users.shared.dto.AddressDto;
+import com.lemini.users.shared.dto.UserDto;
+import com.lemini.users.shared.dto.UserImportResultDto;
+import com.lemini.users.shared.enums.UserImportStatus;
+
+import jakarta.persistence.EntityManagerFactory;
+
+// Counts the JDBC statements behind GET /users pages through Hibernate statistics
+// bcrypt pinned to its cheapest cost, the import test hashes a hundred passwords
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "app.security.password-hashing.strength=4" })
+@ActiveProfiles("test")
+public class UserServiceImplQueryCountTest {
+
+    private static final int USERS = 12;
+    private static final int BATCH_SIZE = 50; // hibernate.jdbc.batch_size
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private RevokedUserDenylist revokedUserDenylist;
+
+    @Autowired
+    private UnknownEmailCache unknownEmailCache;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+        IntStream.range(0, USERS).forEach(i -> userRepository.save(user(i)));
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void shouldLoadPageWithTwoStatementsWhateverItsSize() {
+        for (int limit : new int[] {1, 5, USERS}) {
+            statistics.clear();
+
+            List<UserDto> users = userService.getUsers(1, limit);
+
+            assertEquals(limit, users.size());
+            users.forEach(user -> assertEquals(2, user.addresses().size()));
+            assertEquals(2, statistics.getPrepareStatementCount(), "statements for a page of " + limit);
+        }
+    }
+
+    @Test
+    void shouldKeepPagesInIdOrder() {
+        List<UserDto> first = userService.getUsers(1, 5);
+        List<UserDto> second = userService.getUsers(2, 5);
+        List<UserDto> last = userService.getUsers(3, 5);
+
+        assertEquals(5, first.size());
+        assertEquals(5, second.size());
+        assertEquals(USERS - 10, last.size());
+        assertEquals("First0", first.get(0).firstName());
+        assertEquals("First5", second.get(0).firstName());
+        assertEquals("First10", last.get(0).firstName());
+    }
+
+    @Test
+    void shouldLoadPageBeyondTheEndWithOneStatement() {
+        assertEquals(0, userService.getUsers(10, 5).size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void shouldScrollThroughAllUsersWithTwoStatementsPerSlice() {
+        List<String> firstNames = new ArrayList<>();
+        long afterId = 0;
+        Slice<UserDto> slice;
+        do {
+            statistics.clear();
+
+            slice = userService.getUsersAfter(afterId, 5);
+
+            assertEquals(2, statistics.getPrepareStatementCount());
+            slice.forEach(user -> firstNames.add(user.firstName()));
+            afterId = slice.getContent().get(slice.getNumberOfElements() - 1).id();
+        } while (slice.hasNext());
+
+        assertEquals(IntStream.range(0, USERS).mapToObj(i -> "First" + i).toList(), firstNames);
+    }
+
+    @Test
+    void shouldExportEveryUserWithOneStatementAcrossClears() {
+        // Enough users for the persistence context to be cleared twice mid-stream
+        int total = 2 * UserRepository.EXPORT_FETCH_SIZE + 100;
+        userRepository.saveAll(IntStream.range(USERS, total).mapToObj(UserServiceImplQueryCountTest::user).toList());
+        statistics.clear();
+
+        List<UserDto> exported = new ArrayList<>();
+        userService.forEachUser(exported::add);
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(total, exported.size());
+        for (int i = 0; i < total; i++) {
+            assertEquals("First" + i, exported.get(i).firstName());
+            assertEquals(2, exported.get(i).addresses().size());
+        }
+    }
+
+    @Test
+    void shouldImportWithOneDuplicateCheckAndBatchedInserts() {
+        int imported = 2 * BATCH_SIZE + 5;
+        List<UserDto> users = new ArrayList<>(IntStream.range(USERS, USERS + imported).mapToObj(i -> userDto(i)).toList());
+        users.add(userDto(0)); // already stored
+        users.add(userDto(USERS)); // repeats the first row of this import
+        statistics.clear();
+
+        List<UserImportResultDto> results = userService.importUsers(users);
+
+        assertEquals(imported + 2, results.size());
+        results.subList(0, imported).forEach(result -> assertEquals(UserImportStatus.CREATED, result.status()));
+        assertEquals(UserImportStatus.DUPLICATE, results.get(imported).status());
+        assertEquals(UserImportStatus.DUPLICATE, results.get(imported + 1).status());
+
+        // One duplicate check, one batched insert per table for each chunk of 50 users,
+        // and at most one sequence call per 50 ids of each table; 315 rows if each were inserted on its own
+        int chunks = (imported + BATCH_SIZE - 1) / BATCH_SIZE;
+        int sequenceCalls = (imported / BATCH_SIZE + 1) + (2 * imported / BATCH_SIZE + 1);
+        assertEquals(3 * imported, statistics.getEntityInsertCount());
+        assertEquals(1, statistics.getQueryExecutionCount());
+        assertTrue(statistics.getPrepareStatementCount() <= 1 + 2 * chunks + sequenceCalls,
+                statistics.getPrepareStatementCount() + " statements");
+        assertEquals(USERS + imported, userRepository.count());
+    }
+
+    @Test
+    void shouldReportRowsDifferingOnlyInEmailCaseAsDuplicates() {
+        UserDto upper = withEmail(userDto(USERS), "Case.Pair@Example.com");
+        UserDto lower = withEmail(userDto(USERS + 1), "case.pair@example.com");
+
+        List<UserImportResultDto> results = userService.importUsers(List.of(upper, lower));
+
+        assertEquals(UserImportStatus.CREATED, results.get(0).status());
+        assertEquals(UserImportStatus.DUPLICATE, results.get(1).status());
+        assertEquals(USERS + 1, userRepository.count());
+    }
+
+    @Test
+    void shouldRegisterWithoutLookingUpTheEmail() {
+        userService.createUser(userDto(USERS));
+
+        // The user and its two address inserts; the unique constraint replaces the duplicate lookup. Then the
+        // verification token: the user by natural id, the delete of earlier tokens (the only query, and not a
+        // select, so no execution is counted) and the token insert
+        assertArrayEquals(new String[] { "delete from EmailVerificationTokenEntity t where t.user = :user" },
+                statistics.getQueries());
+        assertEquals(0, statistics.getQueryExecutionCount());
+        assertEquals(1, statistics.getEntityLoadCount());
+        assertEquals(4, statistics.getEntityInsertCount());
+    }
+
+    @Test
+    void shouldPatchWithOneUpdateAndNoCollectionLoads() {
+        // Inserts do not populate the users region (UserEntity is dynamic-update), a read does
+        userService.getUserByUserId("page-user-3");
+        statistics.clear();
+
+        UserDto patched = userService.patchUser("page-user-3",
+                new UserDto(0, null, null, "Patched", null, null, null, null, null));
+
+        assertEquals("First3", patched.firstName());
+        assertEquals("Patched", patched.lastName());
+        // The UPDATE alone: the users row comes from the second-level cache, addresses and roles never loaded
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getCollectionLoadCount());
+        assertEquals(0, statistics.getCollectionFetchCount());
+
+        // Cold cache: one read of the users row by natural id before the UPDATE
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+        userService.patchUser("page-user-4", new UserDto(0, null, "Patched", null, null, null, null, null, null));
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getCollectionLoadCount());
+    }
+
+    @Test
+    void shouldDeleteWithSetBasedStatementsAndNoLoads() {
+        UserEntity withRole = user(USERS);
+        RoleEntity role = new RoleEntity();
+        role.setName("ROLE_DELETE_TEST_" + System.nanoTime());
+        withRole.setRoles(List.of(role));
+        userRepository.save(withRole);
+        statistics.clear();
+
+        userService.deleteUserByUserId("page-user-" + USERS);
+        List<String> notFound = userService.deleteUsersByUserIds(List.of("page-user-1", "page-user-2", "missing"));
+
+        assertEquals(List.of("missing"), notFound);
+        assertEquals(USERS - 2, userRepository.count());
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from users_roles", Integer.class));
+        assertEquals(2 * (USERS - 2), jdbcTemplate.queryForObject("select count(*) from users_addresses", Integer.class));
+        // Per call: the key lookup, then addresses, users_roles and users deleted by id, nothing loaded
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(0, statistics.getCollectionLoadCount());
+        assertEquals(0, statistics.getEntityDeleteCount());
+        assertEquals(8 + 1, statistics.getPrepareStatementCount()); // plus the count() above
+    }
+
+    @Test
+    void shouldLeaveTokensLoginsAndPrincipalsAloneWhenTheDeleteRollsBack() {
+        Cache principalCache = cacheManager.getCache(SecurityConstants.PRINCIPAL_CACHE);
+        userService.getUserByUserId("page-user-5");
+
+        transactionTemplate.executeWithoutResult(status -> {
+            userService.deleteUsersByUserIds(List.of("page-user-5"));
+            status.setRollbackOnly();
+        });
+
+        assertTrue(userRepository.findByUserId("page-user-5").isPresent());
+        assertFalse(revokedUserDenylist.isRevoked("page-user-5"));
+        assertFalse(unknownEmailCache.isUnknown("page-user-5@example.com"));
+        assertNotNull(principalCache.get("page-user-5"));
+
+        // Committed, the same delete takes effect everywhere
+        userService.deleteUsersByUserIds(List.of("page-user-5"));
+
+        assertTrue(revokedUserDenylist.isRevoked("page-user-5"));
+        assertTrue(unknownEmailCache.isUnknown("page-user-5@example.com"));
+        assertNull(principalCache.get("page-user-5"));
+    }
+
+    private static UserDto userDto(int i) {
+        UserEntity userEntity = user(i);
+        List<AddressDto> addresses = userEntity.getAddresses().stream()
+                .map(address -> new AddressDto(0, null, address.getStreetName(), address.getCity(),
+                        address.getCountry(), address.getPostalCode(), address.getType()))
+                .toList();
+        return new UserDto(0, null, userEntity.getFirstName(), userEntity.getLastName(), userEntity.getEmail(),
+                "Password" + i + "!", null, false, addresses);
+    }
+
+    private static UserDto withEmail(UserDto user, String email) {
+        return new UserDto(user.id(), user.userId(), user.firstName(), user.lastName(), email, user.password(),
+                user.encryptedPassword(), user.emailVerificationStatus(), user.addresses());
+    }
+
+    private static UserEntity user(int i) {
+        UserEntity userEntity = new UserEntity();
+        userEntity.setUserId("page-user-" + i);
+        userEntity.setFirstName("First" + i);
+        userEntity.setLastName("Last" + i);
+        userEntity.setEmail("page-user-" + i + "@example.com");
+        userEntity.setEncryptedPassword("hashed_password_here");
+        userEntity.setAddresses(List.of(address(userEntity, i, "HOME"), address(userEntity, i, "BILLING")));
+        return userEntity;
+    }
+
+    private static AddressEntity address(UserEntity userEntity, int i, String type) {
+        AddressEntity address = new AddressEntity();
+        address.setAddressId("page-address-" + i + "-" + type);
+        address.setCity("City");
+        address.setCountry("Country");
+        address.setStreetName("Street " + i);
+        address.setPostalCode("12345");
+        address.setType(type);
+        address.setUserProfile(userEntity);
+        return address;
+    }
+}
@@ -5,36 +5,56 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.sql.SQLException;
 import java.util.List;
 import java.util.Optional;
 
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Pageable;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.lemini.users.exceptions.UserServiceException;
+import com.lemini.users.io.datasource.ReadYourWritesWindow;
 import com.lemini.users.io.entity.AddressEntity;
 import com.lemini.users.io.entity.UserEntity;
 import com.lemini.users.io.mapper.UserEntityMapper;
+import com.lemini.users.io.repository.UserKey;
 import com.lemini.users.io.repository.UserRepository;
+import com.lemini.users.security.BoundedPasswordEncoder;
+import com.lemini.users.security.CustomUser;
+import com.lemini.users.security.RevokedUserDenylist;
+import com.lemini.users.security.SecurityConstants;
+import com.lemini.users.security.UnknownEmailCache;
+import com.lemini.users.service.EmailVerificationService;
 import com.lemini.users.shared.dto.AddressDto;
 import com.lemini.users.shared.dto.UserDto;
+import com.lemini.users.shared.dto.UserImportResultDto;
+import com.lemini.users.shared.enums.UserImportStatus;
 import com.lemini.users.shared.Utils;
 
+import jakarta.persistence.EntityManager;
+
 @ExtendWith(MockitoExtension.class)
 public class UserServiceImplTest {
 
@@ -51,7 +71,31 @@ public class UserServiceImplTest {
     Utils utils;
 
     @Mock
-    BCryptPasswordEncoder bCryptPasswordEncoder;
+    BoundedPasswordEncoder passwordEncoder;
+
+    @Mock
+    RevokedUserDenylist revokedUserDenylist;
+
+    @Mock
+    UnknownEmailCache unknownEmailCache;
+
+    @Mock
+    EmailVerificationService emailVerificationService;
+
+    @Mock
+    CacheManager cacheManager;
+
+    @Mock
+    Cache principalCache;
+
+    @Mock
+    ReadYourWritesWindow readYourWrites;
+
+    @Mock
+    TransactionTemplate transactionTemplate;
+
+    @Mock
+    EntityManager entityManager;
 
     UserDto userDto;
     UserEntity userEntity;
@@ -65,7 +109,7 @@ public class UserServiceImplTest {
 
         userDto = new UserDto(
                 1L, "user123", "user1", "family1", "test@test.com",
-                "password123", "encPass", "token123", false, List.of(addressDto));
+                "password123", "encPass", false, List.of(addressDto));
 
         // UserEntity with one address
         AddressEntity addressEntity = new AddressEntity();
@@ -83,18 +127,15 @@ public class UserServiceImplTest {
         userEntity.setFirstName("user1");
         userEntity.setEmail("test@test.com");
         userEntity.setEncryptedPassword("encPass");
-        userEntity.setEmailVerificationToken("token123");
         userEntity.setAddresses(List.of(addressEntity));
     }
 
     @Test
     void testCreateUser_HappyPath() {
         // Given
-        when(userRepository.findByEmail(anyString())).thenReturn(Optional.empty()); // No duplicate
         when(userMapper.userDtoToUserEntity(any(UserDto.class))).thenReturn(userEntity);
         when(utils.generateUserId(anyInt())).thenReturn("generatedUserId");
-        when(utils.generateEmailVerificationToken(anyString())).thenReturn("genToken");
-        when(bCryptPasswordEncoder.encode(anyString())).thenReturn("encodedPassword");
+        when(passwordEncoder.encode(anyString())).thenReturn("encodedPassword");
         when(userRepository.save(any(UserEntity.class))).thenReturn(userEntity);
         when(userMapper.userEntityToUserDto(any(UserEntity.class))).thenReturn(userDto);
         when(utils.generateAddressId(anyInt())).thenReturn("addrId123");
@@ -108,29 +149,84 @@ public class UserServiceImplTest {
 
         verify(userRepository, times(1)).save(any(UserEntity.class));
         verify(utils, times(1)).generateUserId(30);
-        verify(bCryptPasswordEncoder, times(1)).encode("password123");
+        verify(passwordEncoder, times(1)).encode("password123");
+        verify(unknownEmailCache, times(1)).markRegistered(anyString());
+        verify(userRepository, never()).findByEmail(anyString());
+        verify(emailVerificationService, times(1)).issueToken("generatedUserId");
 
     }
 
     @Test
     void testCreateUser_DuplicateEmail() {
         // Given
-        when(userRepository.findByEmail(anyString())).thenReturn(Optional.of(userEntity)); // Duplicate
+        when(userMapper.userDtoToUserEntity(any(UserDto.class))).thenReturn(userEntity);
+        when(passwordEncoder.encode(anyString())).thenReturn("encodedPassword");
+        when(userRepository.save(any(UserEntity.class))).thenThrow(constraintViolation(
+                "PUBLIC.UK_USERS_EMAIL_INDEX_4 ON PUBLIC.USERS(EMAIL NULLS FIRST) VALUES ( /* 1 */ 'test@test.com' )"));
 
         // When & Then
         UserServiceException exception = assertThrows(UserServiceException.class, () -> {
             userService.createUser(userDto);
         });
-        ;
 
         assertEquals(UserServiceException.UserErrorType.EMAIL_ALREADY_EXISTS, exception.getErrorType());
-        verify(userRepository, never()).save(any(UserEntity.class));
+        verify(unknownEmailCache, never()).markRegistered(anyString());
+        verify(emailVerificationService, never()).issueToken(anyString());
+    }
+
+    @Test
+    void testCreateUser_OtherConstraintViolationPropagates() {
+        // Given
+        when(userMapper.userDtoToUserEntity(any(UserDto.class))).thenReturn(userEntity);
+        when(passwordEncoder.encode(anyString())).thenReturn("encodedPassword");
+        when(userRepository.save(any(UserEntity.class))).thenThrow(constraintViolation("PUBLIC.UK_USER_ID"));
+
+        // When & Then
+        assertThrows(DataIntegrityViolationException.class, () -> userService.createUser(userDto));
+    }
+
+    private static DataIntegrityViolationException constraintViolation(String constraintName) {
+        return new DataIntegrityViolationException("duplicate key",
+                new ConstraintViolationException("duplicate key", new SQLException(), constraintName));
+    }
+
+    @Test
+    void testImportUsers_ConflictBetweenRowsOfTheImportMarksTheLaterOneDuplicate() {
+        // Given two rows the database collation treats as equal beyond case, so neither the duplicate check nor
+        // its re-run after the failed batch finds anything stored
+        UserDto first = new UserDto(0L, null, "Rene", "One", "rene@example.com", "password123", null, false, null);
+        UserDto second = new UserDto(0L, null, "Rene", "Two", "ren\u00e9@example.com", "password123", null, false, null);
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(userRepository.findExistingEmails(anyList())).thenReturn(List.of());
+        when(utils.generateUserId(anyInt())).thenReturn("user1", "user2");
+        when(passwordEncoder.encodeAll(anyList())).thenReturn(List.of("hash1", "hash2"));
+        when(userMapper.userDtoToUserEntity(any(UserDto.class))).thenAnswer(invocation -> {
+            UserEntity entity = new UserEntity();
+            entity.setEmail(invocation.<UserDto>getArgument(0).email());
+            return entity;
+        });
+        doThrow(new ConstraintViolationException("duplicate key", new SQLException(), "UK_USERS_EMAIL"))
+                .when(transactionTemplate).executeWithoutResult(any());
+        when(userRepository.save(any(UserEntity.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0))
+                .thenThrow(constraintViolation("UK_USERS_EMAIL"));
+
+        // When
+        List<UserImportResultDto> results = userService.importUsers(List.of(first, second));
+
+        // Then the rows were retried one at a time, and only the later one lost
+        assertEquals(List.of(new UserImportResultDto(UserImportStatus.CREATED, "user1"),
+                new UserImportResultDto(UserImportStatus.DUPLICATE, null)), results);
+        verify(unknownEmailCache, times(1)).markRegistered("rene@example.com");
+        verify(unknownEmailCache, never()).markRegistered("ren\u00e9@example.com");
     }
 
     @Test
     void testLoadUserByUsername_HappyPath() {
         // Given
         when(userRepository.findByEmail(anyString())).thenReturn(Optional.of(userEntity));
+        when(userRepository.findAuthorityNamesById(userEntity.getId())).thenReturn(List.of("DELETE_AUTHORITY"));
         // When
         var userDetails = userService.loadUserByUsername("test@test.com");
 
@@ -138,6 +234,8 @@ public class UserServiceImplTest {
         assertNotNull(userDetails);
         assertEquals(userEntity.getEmail(), userDetails.getUsername());
         assertEquals(userEntity.getEncryptedPassword(), userDetails.getPassword());
+        assertEquals(List.of("DELETE_AUTHORITY"),
+                userDetails.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
     }
 
     @Test
@@ -145,16 +243,40 @@ public class UserServiceImplTest {
         // Given
         when(userRepository.findByEmail(anyString())).thenReturn(Optional.empty());
         // When & Then
-        UserServiceException exception = assertThrows(UserServiceException.class, () -> {
+        assertThrows(UsernameNotFoundException.class, () -> {
             userService.loadUserByUsername("nonexistent@example.com");
         });
-        assertEquals(UserServiceException.UserErrorType.USER_NOT_FOUND, exception.getErrorType());
+        verify(unknownEmailCache, times(1)).markUnknown("nonexistent@example.com");
+    }
+
+    @Test
+    void testLoadUserByUsername_KnownUnknownEmailSkipsQuery() {
+        // Given
+        when(unknownEmailCache.isUnknown("nonexistent@example.com")).thenReturn(true);
+        // When & Then
+        assertThrows(UsernameNotFoundException.class, () -> {
+            userService.loadUserByUsername("nonexistent@example.com");
+        });
+        verify(userRepository, never()).findByEmail(anyString());
+    }
+
+    @Test
+    void testUpdatePassword_KeepsPrincipal() {
+        // Given
+        CustomUser user = new CustomUser("user123", "test@test.com", "oldHash", true, true, true, true, List.of());
+        // When
+        var upgraded = userService.updatePassword(user, "{bcrypt}newHash");
+
+        // Then
+        verify(userRepository, times(1)).updateEncryptedPasswordByEmail("test@test.com", "{bcrypt}newHash");
+        assertEquals("user123", ((CustomUser) upgraded).getUserId());
+        assertEquals("{bcrypt}newHash", upgraded.getPassword());
     }
 
     @Test
     void testGetUserByUserId_HappyPath() {
         // Given
-        when(userRepository.findByUserId(anyString())).thenReturn(Optional.of(userEntity));
+        when(userRepository.findByNaturalId(anyString())).thenReturn(Optional.of(userEntity));
         when(userMapper.userEntityToUserDto(any(UserEntity.class))).thenReturn(userDto);
         // When
         var user = userService.getUserByUserId("user123");
@@ -166,7 +288,7 @@ public class UserServiceImplTest {
     @Test
     void testGetUserByUserId_UserNotFound() {
         // Given
-        when(userRepository.findByUserId(anyString())).thenReturn(Optional.empty());
+        when(userRepository.findByNaturalId(anyString())).thenReturn(Optional.empty());
         // When & Then
         UserServiceException exception = assertThrows(UserServiceException.class, () -> {
             userService.getUserByUserId("nonexistentUserId");
@@ -177,7 +299,7 @@ public class UserServiceImplTest {
     @Test
     void testupdateUserDto_HappyPath() {
         // Given
-        when(userRepository.findByUserId(anyString())).thenReturn(Optional.of(userEntity));
+        when(userRepository.findByNaturalId(anyString())).thenReturn(Optional.of(userEntity));
         when(userRepository.save(any(UserEntity.class))).thenReturn(userEntity);
         when(userMapper.userEntityToUserDto(any(UserEntity.class)))
                 .thenAnswer(invocation -> {
@@ -190,13 +312,12 @@ public class UserServiceImplTest {
                             entity.getEmail(),
                             "",
                             entity.getEncryptedPassword(),
-                            entity.getEmailVerificationToken(),
                             entity.getEmailVerificationStatus(),
                             null // or map addresses if needed
                     );
                 });
         UserDto updatedInfo = new UserDto(
-                1L, "user123", "newFirstName", "newFamilyName", "", "", "", "", false, null);
+                1L, "user123", "newFirstName", "newFamilyName", "", "", "", false, null);
         // When
         var updatedUser = userService.updateUserDto("user123", updatedInfo);
         // Then
@@ -208,9 +329,9 @@ public class UserServiceImplTest {
     @Test
     void testupdateUserDto_UserNotFound() {
         // Given
-        when(userRepository.findByUserId(anyString())).thenReturn(Optional.empty());
+        when(userRepository.findByNaturalId(anyString())).thenReturn(Optional.empty());
         UserDto updatedInfo = new UserDto(
-                1L, "user123", "newFirstName", "newFamilyName", "", "", "", "", false, null);
+                1L, "user123", "newFirstName", "newFamilyName", "", "", "", false, null);
         // When & Then
         UserServiceException exception = assertThrows(UserServiceException.class, () -> {
             userService.updateUserDto("nonexistentUserId", updatedInfo);
@@ -221,30 +342,52 @@ public class UserServiceImplTest {
     @Test
     void testDeleteUser_HappyPath() {
         // Given
-        when(userRepository.findByUserId(anyString())).thenReturn(Optional.of(userEntity));
+        when(userRepository.findKeysByUserIdIn(List.of("user123")))
+                .thenReturn(List.of(new UserKey(1L, "user123", "test@test.com")));
         // When
         userService.deleteUserByUserId("user123");
         // Then
-        verify(userRepository, times(1)).delete(any(UserEntity.class));
+        verify(userRepository, times(1)).deleteAddressesByUserIdIn(List.of(1L));
+        verify(userRepository, times(1)).deleteUsersByIdIn(List.of(1L));
+        verify(userRepository, never()).delete(any(UserEntity.class));
+        verify(revokedUserDenylist, times(1)).revoke("user123");
+        verify(unknownEmailCache, times(1)).markUnknown("test@test.com");
     }
 
     @Test
     void testDeleteUser_UserNotFound() {
         // Given
-        when(userRepository.findByUserId(anyString())).thenReturn(Optional.empty());
+        when(userRepository.findKeysByUserIdIn(anyList())).thenReturn(List.of());
         // When & Then
         UserServiceException exception = assertThrows(UserServiceException.class, () -> {
             userService.deleteUserByUserId("nonexistentUserId");
         });
         assertEquals(UserServiceException.UserErrorType.USER_NOT_FOUND, exception.getErrorType());
+        verify(userRepository, never()).deleteUsersByIdIn(anyList());
+    }
+
+    @Test
+    void testDeleteUsers_ReportsUnknownIdsAndEvictsDeleted() {
+        // Given
+        when(userRepository.findKeysByUserIdIn(List.of("user123", "missing")))
+                .thenReturn(List.of(new UserKey(1L, "user123", "test@test.com")));
+        when(cacheManager.getCache(SecurityConstants.PRINCIPAL_CACHE)).thenReturn(principalCache);
+        // When
+        List<String> notFound = userService.deleteUsersByUserIds(List.of("user123", "missing", "user123"));
+        // Then
+        assertEquals(List.of("missing"), notFound);
+        verify(userRepository, times(1)).deleteAddressesByUserIdIn(List.of(1L));
+        verify(userRepository, times(1)).deleteUsersByIdIn(List.of(1L));
+        verify(principalCache, times(1)).evict("user123");
+        verify(revokedUserDenylist, times(1)).revoke("user123");
+        verify(unknownEmailCache, times(1)).markUnknown("test@test.com");
     }
 
     @Test
     void testGetUsers_HappyPath() {
         // Given
-        Pageable pageable = PageRequest.of(0, 2);
-        Page<UserEntity> page = new PageImpl<>(List.of(userEntity));
-        when(userRepository.findAll(any(Pageable.class))).thenReturn(page);
+        when(userRepository.findIds(any(Pageable.class))).thenReturn(new SliceImpl<>(List.of(1L)));
+        when(userRepository.findAllWithAddressesByIdIn(List.of(1L))).thenReturn(List.of(userEntity));
         when(userMapper.userEntityToUserDto(any(UserEntity.class)))
                 .thenAnswer(invocation -> {
                     UserEntity entity = invocation.getArgument(0);
@@ -256,7 +399,6 @@ public class UserServiceImplTest {
                             entity.getEmail(),
                             "",
                             entity.getEncryptedPassword(),
-                            entity.getEmailVerificationToken(),
                             entity.getEmailVerificationStatus(),
                             null);
                 });
@@ -271,14 +413,13 @@ public class UserServiceImplTest {
     @Test
     void testGetUsers_EmptyList() {
         // Given
-        Pageable pageable = PageRequest.of(0, 2);
-        Page<UserEntity> page = new PageImpl<>(List.of());
-        when(userRepository.findAll(any(Pageable.class))).thenReturn(page);
+        when(userRepository.findIds(any(Pageable.class))).thenReturn(new SliceImpl<>(List.of()));
         // When
         var users = userService.getUsers(0, 2);
         // Then
         assertNotNull(users);
         assertEquals(0, users.size());
+        verify(userRepository, never()).findAllWithAddressesByIdIn(any());
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,87 @@
+package com.lemini.users.shared;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.lemini.users.shared.enums.IdFormat;
+
+public class UtilsTest {
+
+    private static final String ALPHABET = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz";
+
+    private final Utils utils = new Utils();
+
+    @Test
+    void shouldGenerateIdsOfRequestedLengthFromAlphabet() {
+        for (int length : new int[] { 1, 30, 600 }) {
+            String id = utils.generateUserId(length);
+
+            assertEquals(length, id.length());
+            assertTrue(id.chars().allMatch(c -> ALPHABET.indexOf(c) >= 0), id);
+        }
+    }
+
+    @Test
+    void shouldUseEveryCharacterRoughlyEvenly() {
+        int[] counts = new int[ALPHABET.length()];
+        int samples = 62_000;
+
+        utils.generateAddressId(samples).chars().forEach(c -> counts[ALPHABET.indexOf(c)]++);
+
+        // expected 1000 each; a bias towards the first characters (modulo mapping) would show up here
+        for (int i = 0; i < counts.length; i++) {
+            assertTrue(counts[i] > 800 && counts[i] < 1200, ALPHABET.charAt(i) + " occurred " + counts[i] + " times");
+        }
+    }
+
+    @Test
+    void shouldPrefixTimeOrderedIdsWithCreationTime() throws InterruptedException {
+        Utils timeOrdered = new Utils(IdFormat.TIME_ORDERED);
+
+        String first = timeOrdered.generateUserId(30);
+        Thread.sleep(2);
+        String second = timeOrdered.generateUserId(30);
+
+        assertEquals(30, first.length());
+        assertTrue(first.chars().allMatch(c -> ALPHABET.indexOf(c) >= 0), first);
+        assertTrue(first.substring(0, Utils.TIME_PREFIX_LENGTH).compareTo(second.substring(0, Utils.TIME_PREFIX_LENGTH)) < 0);
+        // the prefix stays ordered under case-insensitive collations too
+        assertEquals(first.substring(0, Utils.TIME_PREFIX_LENGTH),
+                first.substring(0, Utils.TIME_PREFIX_LENGTH).toUpperCase());
+        long createdAt = Long.parseLong(second.substring(0, Utils.TIME_PREFIX_LENGTH), 36);
+        assertTrue(Math.abs(System.currentTimeMillis() - createdAt) < 60_000);
+    }
+
+    @Test
+    void shouldRejectTimeOrderedIdsWithoutRandomPart() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new Utils(IdFormat.TIME_ORDERED).generateUserId(Utils.TIME_PREFIX_LENGTH));
+    }
+
+    @Test
+    void shouldStayUniqueUnderConcurrency() throws InterruptedException {
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        for (int i = 0; i < 8; i++) {
+            executor.execute(() -> {
+                for (int j = 0; j < 5_000; j++) {
+                    ids.add(utils.generateUserId(30));
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(40_000, ids.size());
+    }
+}
@@ -8,6 +8,7 @@ import com.lemini.users.shared.dto.UserDto;
 import com.lemini.users.shared.enums.AddressType;
 import com.lemini.users.ui.mapper.UserRestMapper;
 import com.lemini.users.ui.model.request.AddressRequestModel;
+import com.lemini.users.ui.model.request.PatchUserRequestModel;
 import com.lemini.users.ui.model.request.UpdateUserRequestModel;
 import com.lemini.users.ui.model.request.UserRequestModel;
 import com.lemini.users.ui.model.response.UserRest;
@@ -20,6 +21,8 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
@@ -28,8 +31,13 @@ import java.util.Collections;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(UserController.class)
@@ -69,7 +77,7 @@ public class UserControllerTest {
 
                 UserDto userDto = new UserDto(
                                 1L, "userId", "John", "Doe", "john.doe@example.com", "Password123!", "encryptedPass",
-                                "token", true,
+                                true,
                                 Collections.emptyList());
 
                 UserRest userRest = new UserRest(
@@ -130,7 +138,7 @@ public class UserControllerTest {
                                 List.of(address));
 
                 UserDto userDto = new UserDto(
-                                0L, null, "Jane", "Doe", "existing@example.com", "Password123!", null, null, false,
+                                0L, null, "Jane", "Doe", "existing@example.com", "Password123!", null, false,
                                 Collections.emptyList());
 
                 given(userRestMapper.userRequestModelToUserDto(any(UserRequestModel.class))).willReturn(userDto);
@@ -154,7 +162,7 @@ public class UserControllerTest {
                 String userId = "existing-user-id";
                 UserDto userDto = new UserDto(
                                 1L, userId, "Alice", "Smith", "alice.smith@example.com", "Password123!",
-                                "encryptedPass", "token", true,
+                                "encryptedPass", true,
                                 Collections.emptyList());
                 UserRest userRest = new UserRest(
                                 userId, "Alice", "Smith", "alice.smith@example.com", Collections.emptyList());
@@ -201,7 +209,7 @@ public class UserControllerTest {
 
                 UserDto userDto = new UserDto(
                                 1L, userId, "Bob", "Johnson", "bob.johnson@example.com", "Password123!",
-                                "encryptedPass", "token", true,
+                                "encryptedPass", true,
                                 List.of());
                 UserRest userRest = new UserRest(
                                 userId, "Bob", "Johnson", "bob.johnson@example.com", Collections.emptyList());
@@ -226,7 +234,7 @@ public class UserControllerTest {
                                 "Johnson");
                 UserDto userDto = new UserDto(
                                 0L, "userId", "Bob", "Johnson", "bob.johnson@example.com", "Password123!",
-                                "encryptedPass", "token",
+                                "encryptedPass",
                                 true,
                                 List.of());
                 given(userRestMapper.updateUserRequestModelToUserDto(any(UpdateUserRequestModel.class)))
@@ -259,6 +267,41 @@ public class UserControllerTest {
                                 .andExpect(status().isBadRequest());
         }
 
+        @Test
+        @DisplayName("Patch /users/{userId} - 200 OK: Only the fields present are passed on")
+        void patchUser_whenPartialData_returns200() throws Exception {
+                // Arrange
+                String userId = "existing-user-id";
+                UserDto changes = new UserDto(0L, null, "Bobby", null, null, null, null, null, null);
+                UserDto patched = new UserDto(
+                                1L, userId, "Bobby", "Johnson", "bob.johnson@example.com", null, "encryptedPass", true, null);
+                given(userRestMapper.patchUserRequestModelToUserDto(new PatchUserRequestModel("Bobby", null)))
+                                .willReturn(changes);
+                given(userService.patchUser(userId, changes)).willReturn(patched);
+                given(userRestMapper.userDtoToUserRest(patched)).willReturn(
+                                new UserRest(userId, "Bobby", "Johnson", "bob.johnson@example.com", null));
+
+                // Act & Assert
+                mockMvc.perform(MockMvcRequestBuilders
+                                .patch("/api/v1/users/{userId}", userId)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"firstName\": \"Bobby\"}"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.firstName").value("Bobby"))
+                                .andExpect(jsonPath("$.lastName").value("Johnson"))
+                                .andExpect(jsonPath("$.addresses").doesNotExist());
+        }
+
+        @Test
+        @DisplayName("Patch /users/{userId} - 400 Bad Request: A present field must still be valid")
+        void patchUser_whenInvalidData_returns400() throws Exception {
+                mockMvc.perform(MockMvcRequestBuilders
+                                .patch("/api/v1/users/{userId}", "existing-user-id")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"firstName\": \"  \"}"))
+                                .andExpect(status().isBadRequest());
+        }
+
         @Test
         @DisplayName("Delete /users/{userId} - 200 OK: Successful deletion of user profile")
         void deleteUser_whenUserIdExists_returns200() throws Exception {
@@ -295,13 +338,42 @@ public class UserControllerTest {
                                 .andExpect(status().isBadRequest());
         }
 
+        @Test
+        @DisplayName("Delete /users - 200 OK: Deletes the listed users and reports unknown ids")
+        void deleteUsers_whenSomeIdsUnknown_returns200WithNotFound() throws Exception {
+                // Arrange
+                Mockito.when(userService.deleteUsersByUserIds(List.of("a", "b", "missing"))).thenReturn(List.of("missing"));
+
+                // Act & Assert
+                mockMvc.perform(org.springframework.test.web.servlet.request.MockMvcRequestBuilders
+                                .delete("/api/v1/users")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .accept(MediaType.APPLICATION_JSON)
+                                .content("[\"a\", \"b\", \"missing\"]"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.deleted").value(2))
+                                .andExpect(jsonPath("$.notFound[0]").value("missing"));
+        }
+
+        @Test
+        @DisplayName("Delete /users - 400 Bad Request: Empty list")
+        void deleteUsers_whenEmptyList_returns400() throws Exception {
+                mockMvc.perform(org.springframework.test.web.servlet.request.MockMvcRequestBuilders
+                                .delete("/api/v1/users")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("[]"))
+                                .andExpect(status().isBadRequest());
+
+                Mockito.verify(userService, Mockito.never()).deleteUsersByUserIds(Mockito.anyList());
+        }
+
         @Test
         @DisplayName("Get /users - 200 OK: Successful retrieval of all user profiles")
         void getAllUsers_whenUsersExist_returns200() throws Exception {
                 // Arrange
                 UserDto userDto = new UserDto(
                                 1L, "userId", "Charlie", "Brown", "charlie.brown@example.com",
-                                "password123", "encPass", "token123", false, List.of());
+                                "password123", "encPass", false, List.of());
                 UserRest userRest = new UserRest(
                                 "userId", "Charlie", "Brown", "charlie.brown@example.com", List.of());
                 given(userService.getUsers(10,10)).willReturn(List.of(userDto));
@@ -331,5 +403,63 @@ public class UserControllerTest {
 
         
 
+        @Test
+        @DisplayName("Get /users/scroll - 200 OK: Slice with a cursor that resumes after its last user")
+        void scrollUsers_whenMoreFollow_returnsNextCursor() throws Exception {
+                // Arrange
+                UserDto userDto = new UserDto(
+                                42L, "userId", "Charlie", "Brown", "charlie.brown@example.com",
+                                null, "encPass", false, List.of());
+                UserRest userRest = new UserRest(
+                                "userId", "Charlie", "Brown", "charlie.brown@example.com", List.of());
+                given(userService.getUsersAfter(0L, 1))
+                                .willReturn(new SliceImpl<>(List.of(userDto), PageRequest.of(0, 1), true));
+                given(userService.getUsersAfter(42L, 1))
+                                .willReturn(new SliceImpl<>(List.of(), PageRequest.of(0, 1), false));
+                given(userRestMapper.userDtoToUserRest(any(UserDto.class))).willReturn(userRest);
+
+                // Act
+                String body = mockMvc.perform(MockMvcRequestBuilders
+                                .get("/api/v1/users/scroll")
+                                .param("limit", "1")
+                                .accept(MediaType.APPLICATION_JSON))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.users[0].userId").value("userId"))
+                                .andExpect(jsonPath("$.next").isString())
+                                .andReturn().getResponse().getContentAsString();
+                String next = objectMapper.readTree(body).get("next").asText();
+
+                // Assert
+                mockMvc.perform(MockMvcRequestBuilders
+                                .get("/api/v1/users/scroll")
+                                .param("cursor", next)
+                                .param("limit", "1")
+                                .accept(MediaType.APPLICATION_JSON))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.users").isEmpty())
+                                .andExpect(jsonPath("$.next").doesNotExist());
+        }
+
+        @Test
+        @DisplayName("Get /users/scroll - 400 Bad Request: Limit above the maximum slice")
+        void scrollUsers_whenLimitAboveMax_returns400() throws Exception {
+                mockMvc.perform(MockMvcRequestBuilders
+                                .get("/api/v1/users/scroll")
+                                .param("limit", String.valueOf(UserController.MAX_SCROLL_LIMIT + 1))
+                                .accept(MediaType.APPLICATION_JSON))
+                                .andExpect(status().isBadRequest());
+
+                verify(userService, never()).getUsersAfter(anyLong(), anyInt());
+        }
+
+        @Test
+        @DisplayName("Get /users/scroll - 400 Bad Request: Malformed cursor")
+        void scrollUsers_whenCursorMalformed_returns400() throws Exception {
+                mockMvc.perform(MockMvcRequestBuilders
+                                .get("/api/v1/users/scroll")
+                                .param("cursor", "not a cursor")
+                                .accept(MediaType.APPLICATION_JSON))
+                                .andExpect(status().isBadRequest());
+        }
 
-}
+}
\ No newline at end of file
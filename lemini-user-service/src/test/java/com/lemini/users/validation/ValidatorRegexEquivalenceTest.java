@@ -0,0 +1,85 @@
+package com.lemini.users.validation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+
+// The scanners must accept exactly what the original regular expressions accepted.
+// Inputs are generated from alphabets biased towards the characters each expression cares about,
+// plus characters that only look similar (non-ASCII digits and letters, line terminators).
+public class ValidatorRegexEquivalenceTest {
+
+    private static final Pattern EMAIL_REGEX =
+            Pattern.compile("^[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,6}$");
+    private static final Pattern PASSWORD_REGEX =
+            Pattern.compile("^(?=.*[a-z])(?=.*[A-Z])(?=.*\\d)(?=.*[@$!%*?&])[A-Za-z\\d@$!%*?&]{8,}$");
+
+    private static final String TRICKY = "\n\r\u0085  \t#^~éÉ٣１ſK";
+    private static final String EMAIL_ALPHABET = "aZ09._%+-@@..-bcXY" + TRICKY;
+    private static final String PASSWORD_ALPHABET = "aAzZ09@$!%*?&bcXY" + TRICKY;
+
+    private static final int SAMPLES = 200_000;
+
+    private final Random random = new Random(20260501L);
+
+    @Test
+    void emailScannerMatchesRegex() {
+        assertEquivalent(new EmailValidator(), EMAIL_REGEX, EMAIL_ALPHABET, 24);
+    }
+
+    @Test
+    void passwordScannerMatchesRegex() {
+        assertEquivalent(new PasswordValidator(), PASSWORD_REGEX, PASSWORD_ALPHABET, 14);
+    }
+
+    @Test
+    void emailScannerMatchesRegexOnStructuredInput() {
+        EmailValidator validator = new EmailValidator();
+        int accepted = 0;
+
+        for (int i = 0; i < SAMPLES; i++) {
+            // local@domain.tld with each part drawn from the full alphabet, so most samples are near misses
+            String email = randomString(EMAIL_ALPHABET, 4) + "@" + randomString(EMAIL_ALPHABET, 6)
+                    + "." + randomString("abcXYZ" + EMAIL_ALPHABET, 8);
+            boolean expected = EMAIL_REGEX.matcher(email).matches();
+            assertEquals(expected, validator.test(email), () -> "mismatch for " + escape(email));
+            accepted += expected ? 1 : 0;
+        }
+
+        // make sure the generator reaches both outcomes
+        assertTrue(accepted > 0 && accepted < SAMPLES);
+    }
+
+    private void assertEquivalent(Predicate<String> validator, Pattern regex, String alphabet, int maxLength) {
+        int accepted = 0;
+
+        for (int i = 0; i < SAMPLES; i++) {
+            String input = randomString(alphabet, maxLength);
+            boolean expected = regex.matcher(input).matches();
+            assertEquals(expected, validator.test(input), () -> "mismatch for " + escape(input));
+            accepted += expected ? 1 : 0;
+        }
+
+        assertTrue(accepted > 0 && accepted < SAMPLES, "generator only produced one outcome: " + accepted);
+    }
+
+    private String randomString(String alphabet, int maxLength) {
+        int length = random.nextInt(maxLength + 1);
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return sb.toString();
+    }
+
+    private static String escape(String input) {
+        StringBuilder sb = new StringBuilder();
+        input.chars().forEach(c -> sb.append(c < 0x20 || c > 0x7e ? String.format("\\u%04x", c) : String.valueOf((char) c)));
+        return sb.toString();
+    }
+}